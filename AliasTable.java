@@ -0,0 +1,93 @@
+package cs2030.simulator;
+
+/**
+ * Represents a discrete distribution over the indices 0 to n - 1, sampled in constant time with
+ * Walker's alias method. The table is built once, in O(n) time, using Vose's algorithm.
+ * Each column of the table holds the probability of keeping its own index and an alias index,
+ * so a sample needs only one column lookup and one comparison, however large n is.
+ */
+class AliasTable {
+
+    /**
+     * Contains the probability of keeping the index of each column rather than its alias.
+     */
+    private final double[] probability;
+
+    /**
+     * Contains the alias index of each column.
+     */
+    private final int[] alias;
+
+    /**
+     * Constructs an AliasTable object.
+     * @param weights the relative weight of each index. Weights must be non-negative, and at
+     *     least one must be positive.
+     */
+    AliasTable(double[] weights) {
+        int n = weights.length;
+        double totalWeight = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and non-negative");
+            }
+            totalWeight += weight;
+        }
+        if (!(totalWeight > 0)) {
+            throw new IllegalArgumentException("at least one weight must be positive");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double[] scaledWeights = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int numberOfSmall = 0;
+        int numberOfLarge = 0;
+        for (int i = 0; i < n; i++) {
+            scaledWeights[i] = weights[i] * n / totalWeight;
+            if (scaledWeights[i] < 1) {
+                small[numberOfSmall++] = i;
+            } else {
+                large[numberOfLarge++] = i;
+            }
+        }
+
+        while (numberOfSmall > 0 && numberOfLarge > 0) {
+            int lessLikely = small[--numberOfSmall];
+            int moreLikely = large[--numberOfLarge];
+            probability[lessLikely] = scaledWeights[lessLikely];
+            alias[lessLikely] = moreLikely;
+            scaledWeights[moreLikely] += scaledWeights[lessLikely] - 1;
+            if (scaledWeights[moreLikely] < 1) {
+                small[numberOfSmall++] = moreLikely;
+            } else {
+                large[numberOfLarge++] = moreLikely;
+            }
+        }
+
+        while (numberOfLarge > 0) {
+            probability[large[--numberOfLarge]] = 1;
+        }
+        while (numberOfSmall > 0) {
+            probability[small[--numberOfSmall]] = 1;
+        }
+    }
+
+    /**
+     * Samples an index. The whole part of the scaled uniform double selects a column, and its
+     * fractional part decides between the column's index and its alias.
+     * @param uniform a random double, uniformly distributed between 0 (inclusive) and 1
+     *     (exclusive).
+     * @return returns the sampled index.
+     */
+    int sample(double uniform) {
+        double scaled = uniform * probability.length;
+        int column = Math.min((int) scaled, probability.length - 1);
+        return scaled - column < probability[column] ? column : alias[column];
+    }
+
+    int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,83 @@
+package cs2030.simulator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Publishes Customer arrivals to a DigitalTwin from a stream of text, such as a tailed log file
+ * or a local socket. Every non-empty line read represents one Customer. A line that starts with
+ * a number gives the arrival time of its Customer, in milliseconds since the epoch; any other
+ * line represents a Customer arriving at the time the line is read. Arrivals from before the
+ * DigitalTwin started, such as lines already in a file when tailing starts, are added at the
+ * current simulated time by the DigitalTwin.
+ */
+public class ArrivalProducer implements Runnable {
+
+    /**
+     * The stream that arrivals are read from.
+     */
+    private BufferedReader reader;
+
+    /**
+     * The DigitalTwin that arrivals are published to.
+     */
+    private DigitalTwin twin;
+
+    /**
+     * Constructs an ArrivalProducer object.
+     * @param reader the stream that arrivals are read from.
+     * @param twin the DigitalTwin that arrivals are published to.
+     */
+    public ArrivalProducer(BufferedReader reader, DigitalTwin twin) {
+        this.reader = reader;
+        this.twin = twin;
+    }
+
+    /**
+     * Reads lines until the end of the stream or until the DigitalTwin is stopped, publishing
+     * one arrival per non-empty line. If the buffer of the DigitalTwin is full, the arrival is
+     * retried until it is published, unless the DigitalTwin is stopped first.
+     */
+    @Override
+    public void run() {
+        long epochOffsetNanos = System.nanoTime() - System.currentTimeMillis() * 1_000_000L;
+        try {
+            String line;
+            while (twin.isRunning() && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                long arrivalNanos = parseArrivalNanos(line, epochOffsetNanos);
+                while (!twin.publish(arrivalNanos)) {
+                    if (!twin.isRunning()) {
+                        return;
+                    }
+                    Thread.onSpinWait();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the arrival time of a line, as a wall-clock time given by System.nanoTime().
+     * @param line the line read.
+     * @param epochOffsetNanos the value of System.nanoTime() at the start of the epoch.
+     * @return returns the arrival time given at the start of the line, or the current time if
+     *     the line does not start with a number.
+     */
+    static long parseArrivalNanos(String line, long epochOffsetNanos) {
+        String firstField = line.trim().split("\\s+", 2)[0];
+        try {
+            double epochMillis = Double.parseDouble(firstField);
+            if (Double.isFinite(epochMillis)) {
+                return Math.round(epochMillis * 1e6) + epochOffsetNanos;
+            }
+        } catch (NumberFormatException e) {
+            // the line does not start with an arrival time
+        }
+        return System.nanoTime();
+    }
+}
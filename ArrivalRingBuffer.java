@@ -0,0 +1,102 @@
+package cs2030.simulator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a bounded, lock-free queue of Customer arrival timestamps. Any number of producer
+ * threads may offer timestamps concurrently, while a single consumer thread drains them.
+ * Each slot has a sequence number, which tells producers whether the slot is free and tells the
+ * consumer whether the slot has been published, so neither side ever blocks the other.
+ */
+class ArrivalRingBuffer {
+
+    /**
+     * Contains the published timestamps, indexed by position modulo the capacity.
+     */
+    private final long[] timestamps;
+
+    /**
+     * Contains the sequence number of each slot. A slot at a given position is free for a
+     * producer if its sequence number equals the position, and readable by the consumer if its
+     * sequence number equals the position plus one.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Represents the capacity minus one, used to map positions to slots.
+     */
+    private final int mask;
+
+    /**
+     * Represents the next position to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Represents the next position to be read by the consumer. Only the consumer accesses it.
+     */
+    private long head;
+
+    /**
+     * Constructs an ArrivalRingBuffer object.
+     * @param capacity the number of timestamps that can be held at once. Must be a power of two.
+     */
+    ArrivalRingBuffer(int capacity) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.timestamps = new long[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes a timestamp. May be called by any number of threads concurrently.
+     * @param timestamp the timestamp to be published.
+     * @return returns true if the timestamp was published, or false if the buffer is full.
+     */
+    boolean offer(long timestamp) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    timestamps[index] = timestamp;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes published timestamps, in the order in which their slots were claimed.
+     * Must only be called by the consumer thread.
+     * @param batch the array to copy the timestamps into.
+     * @return returns the number of timestamps removed, at most the length of the batch.
+     */
+    int drainTo(long[] batch) {
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            batch[count] = timestamps[index];
+            sequences.lazySet(index, head + timestamps.length);
+            head++;
+            count++;
+        }
+        return count;
+    }
+}
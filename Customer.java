@@ -25,6 +25,24 @@ class Customer {
         this.arrivalTime = arrivalTime;
     }
 
+    /**
+     * Reinitializes this Customer object, so that it can be reused in a new simulation.
+     * @param customerID a unique ID assigned to each Customer for identification.
+     * @param arrivalTime designates the arrival time for this Customer.
+     */
+    void reset(int customerID, double arrivalTime) {
+        this.customerID = customerID;
+        this.arrivalTime = arrivalTime;
+    }
+
+    /**
+     * Copies this Customer object, so that the copy is not affected when this one is reused.
+     * @return returns a Customer object of the same type, with the same ID and arrival time.
+     */
+    Customer copy() {
+        return new Customer(customerID, arrivalTime);
+    }
+
     int getID() {
         return this.customerID;
     }
@@ -33,6 +51,20 @@ class Customer {
         return this.arrivalTime;
     }
 
+    /**
+     * Selects an idle Server to be served by immediately.
+     * @return returns the Server ID of the first Server not serving a Customer, or 0 if every
+     *     Server is serving a Customer.
+     */
+    int scanIdleServers() {
+        for (Server server : Manager.serverArray) {
+            if (!server.isServingCustomer()) {
+                return server.getID();
+            }
+        }
+        return 0;
+    }
+
     /**
      * Selects which Server queue to join.
      * @return returns the ServerID of the selected queue that will be joined.
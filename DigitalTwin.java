@@ -0,0 +1,143 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+
+/**
+ * Runs a simulation live, alongside a real queueing system. Instead of generating Customers in
+ * advance, producer threads publish the arrival timestamps of real Customers, and the twin adds
+ * them to the simulation as they are drained. Simulated time advances with the wall clock, so
+ * Events are evaluated as their time is reached, and the predicted waiting time of each Customer
+ * is sent to the WaitListener as soon as the Customer is assigned to a Server. No Events are
+ * printed while the twin runs, and the WaitListener only receives predictions while it runs.
+ */
+public class DigitalTwin implements Runnable {
+
+    /**
+     * Represents the maximum number of arrivals drained from the buffer at once.
+     */
+    static final int BATCH_SIZE = 256;
+
+    /**
+     * The Manager evaluating the simulation. Only the thread running this twin may use it.
+     */
+    private Manager manager;
+
+    /**
+     * The buffer that producer threads publish arrival timestamps into.
+     */
+    private ArrivalRingBuffer arrivals;
+
+    /**
+     * Contains the arrival timestamps drained from the buffer but not yet added.
+     */
+    private long[] batch = new long[BATCH_SIZE];
+
+    /**
+     * Represents the wall-clock time, in nanoseconds, corresponding to simulated time 0.
+     */
+    private long startNanos;
+
+    /**
+     * Represents the number of simulated time units that pass per second of wall-clock time.
+     */
+    private double timeScale;
+
+    /**
+     * Represents the simulated time up to which Events have been evaluated.
+     */
+    private double currentTime;
+
+    /**
+     * Represents whether this twin should keep running.
+     */
+    private volatile boolean isRunning = true;
+
+    /**
+     * The WaitListener that receives the predicted waiting times while this twin runs.
+     */
+    private WaitListener listener;
+
+    /**
+     * Constructs a DigitalTwin object. Simulated time 0 corresponds to the time of construction.
+     * @param manager the Manager evaluating the simulation, whose Servers must be initialized.
+     * @param bufferCapacity the number of arrivals that can be waiting to be drained at once.
+     *     Must be a power of two.
+     * @param timeScale the number of simulated time units that pass per second.
+     * @param listener the WaitListener that receives the predicted waiting times.
+     */
+    public DigitalTwin(Manager manager, int bufferCapacity, double timeScale,
+            WaitListener listener) {
+        this.manager = manager;
+        this.arrivals = new ArrivalRingBuffer(bufferCapacity);
+        this.timeScale = timeScale;
+        this.startNanos = System.nanoTime();
+        this.listener = listener;
+    }
+
+    /**
+     * Publishes the arrival of a Customer. May be called by any number of threads concurrently.
+     * @param arrivalNanos the wall-clock time of arrival, as given by System.nanoTime().
+     * @return returns true if the arrival was published, or false if the buffer is full.
+     */
+    public boolean publish(long arrivalNanos) {
+        return arrivals.offer(arrivalNanos);
+    }
+
+    /**
+     * Converts a wall-clock time to simulated time.
+     * @param nanos the wall-clock time, as given by System.nanoTime().
+     * @return returns the corresponding simulated time.
+     */
+    double toSimulatedTime(long nanos) {
+        return (nanos - startNanos) / 1e9 * timeScale;
+    }
+
+    /**
+     * Drains the published arrivals and evaluates all Events up to the current wall-clock time,
+     * until this twin is stopped. An arrival that was published before the simulation reached
+     * its time, but drained after, is added at the current simulated time instead.
+     * Events are not printed until this twin is stopped, and the WaitListener of this twin
+     * replaces the previous one until then.
+     */
+    @Override
+    public void run() {
+        PrintStream previousTraceStream = Manager.traceStream;
+        WaitListener previousListener = Manager.waitListener;
+        Manager.setTraceStream(null);
+        Manager.setWaitListener(listener);
+
+        try {
+            while (isRunning) {
+                int count = arrivals.drainTo(batch);
+                for (int i = 0; i < count; i++) {
+                    manager.addArrival(Math.max(toSimulatedTime(batch[i]), currentTime));
+                }
+
+                currentTime = Math.max(toSimulatedTime(System.nanoTime()), currentTime);
+                manager.evaluateEventsUntil(currentTime);
+
+                if (count == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        } finally {
+            Manager.setTraceStream(previousTraceStream);
+            Manager.setWaitListener(previousListener);
+        }
+    }
+
+    /**
+     * Checks whether this twin is still running, or has not been stopped yet.
+     * @return returns false once this twin has been stopped.
+     */
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Stops this twin. The thread running it returns after its current iteration.
+     */
+    public void stop() {
+        isRunning = false;
+    }
+}
@@ -0,0 +1,111 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Represents an empirical distribution of service times, given as a histogram. A bin is chosen
+ * with an AliasTable built once at construction, and the service time is then uniformly
+ * distributed within that bin, so sampling takes the same time however many bins there are.
+ */
+public class EmpiricalDistribution implements ServiceTimeDistribution {
+
+    /**
+     * Contains the edges of the bins. Bin i covers the service times from binEdges[i] to
+     * binEdges[i + 1].
+     */
+    private final double[] binEdges;
+
+    /**
+     * Selects a bin with probability proportional to its count.
+     */
+    private final AliasTable bins;
+
+    /**
+     * Represents the mean service time.
+     */
+    private final double mean;
+
+    /**
+     * Constructs an EmpiricalDistribution object from a histogram.
+     * @param binEdges the edges of the bins, in increasing order, starting from at least 0.
+     *     There is one more edge than there are bins.
+     * @param counts the number of observed service times in each bin.
+     */
+    public EmpiricalDistribution(double[] binEdges, double[] counts) {
+        if (binEdges.length != counts.length + 1) {
+            throw new IllegalArgumentException("there must be one more bin edge than bins");
+        }
+        if (!(binEdges[0] >= 0)) {
+            throw new IllegalArgumentException("bin edges must be non-negative");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (!(binEdges[i + 1] > binEdges[i])) {
+                throw new IllegalArgumentException("bin edges must be increasing");
+            }
+        }
+        this.binEdges = binEdges.clone();
+        this.bins = new AliasTable(counts);
+
+        double total = 0;
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            sum += counts[i] * (binEdges[i] + binEdges[i + 1]) / 2;
+        }
+        this.mean = sum / total;
+    }
+
+    /**
+     * Constructs an EmpiricalDistribution object from observed service times, grouped into bins
+     * of equal width from 0 to the longest observed service time.
+     * @param observations the observed service times, which must be non-negative.
+     * @param numberOfBins the number of bins to group the observations into.
+     * @return returns the EmpiricalDistribution of the observations.
+     */
+    public static EmpiricalDistribution fromObservations(double[] observations,
+            int numberOfBins) {
+        if (observations.length == 0 || numberOfBins <= 0) {
+            throw new IllegalArgumentException("there must be observations and bins");
+        }
+        double longest = Arrays.stream(observations).max().getAsDouble();
+        if (!(longest > 0)) {
+            throw new IllegalArgumentException("the longest observation must be positive");
+        }
+
+        double[] binEdges = new double[numberOfBins + 1];
+        for (int i = 0; i <= numberOfBins; i++) {
+            binEdges[i] = longest * i / numberOfBins;
+        }
+        double[] counts = new double[numberOfBins];
+        for (double observation : observations) {
+            if (!(observation >= 0)) {
+                throw new IllegalArgumentException("observations must be non-negative");
+            }
+            counts[Math.min((int) (observation / longest * numberOfBins), numberOfBins - 1)]++;
+        }
+        return new EmpiricalDistribution(binEdges, counts);
+    }
+
+    /**
+     * Calculates the mean service time.
+     * @return returns the mean service time.
+     */
+    @Override
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Samples a service time. Uses one uniform double to choose a bin, and another to choose
+     * the service time within it.
+     * @param uniform a source of random doubles, uniformly distributed between 0 (inclusive)
+     *     and 1 (exclusive).
+     * @return returns a service time within the range of the histogram.
+     */
+    @Override
+    public double sample(DoubleSupplier uniform) {
+        int bin = bins.sample(uniform.getAsDouble());
+        return binEdges[bin] + uniform.getAsDouble() * (binEdges[bin + 1] - binEdges[bin]);
+    }
+}
@@ -44,6 +44,27 @@ class Event {
         this.state = state;
     }
 
+    /**
+     * Reinitializes this Event object, so that it can be reused in a new simulation.
+     * @param customerID the ID of the assigned Customer.
+     * @param serverID the ID of the assigned Server.
+     * @param time the current time of the Event.
+     * @param state the current State of the Event.
+     */
+    void reset(int customerID, int serverID, double time, State state) {
+        this.customerID = customerID;
+        this.serverID = serverID;
+        this.time = time;
+        this.state = state;
+    }
+
+    /**
+     * Copies this Event. The copy can be modified without affecting this Event.
+     * @return returns a new Event with the same fields as this Event.
+     */
+    Event copy() {
+        return new Event(customerID, serverID, time, state);
+    }
     
     int getCustomerID() {
         return this.customerID;
@@ -53,6 +74,14 @@ class Event {
         return this.serverID;
     }
 
+    /**
+     * Assigns a Server to this object.
+     * @param serverID the ID of the assigned Server.
+     */
+    void setServerID(int serverID) {
+        this.serverID = serverID;
+    }
+
     double getTime() {
         return this.time;
     }
@@ -132,7 +161,7 @@ class Event {
 
         String baseString;
 
-        if (Manager.customerArray[this.customerID - 1] instanceof GreedyCustomer) {
+        if (Manager.getCustomer(this.customerID) instanceof GreedyCustomer) {
             baseString = (String.format("%.3f", time) + " " + customerID + "(greedy) " + state);
         } else {
             baseString = (String.format("%.3f", time) + " " + customerID + " " + state);
@@ -15,6 +15,15 @@ class GreedyCustomer extends Customer {
         super(customerID, arrivalTime);
     }
 
+    /**
+     * Copies this GreedyCustomer object, so that the copy is not affected when this one is reused.
+     * @return returns a GreedyCustomer object with the same ID and arrival time.
+     */
+    @Override
+    Customer copy() {
+        return new GreedyCustomer(getID(), getTime());
+    }
+
     /**
      * Selects which Server queue to join. Differs from the non-greedy Customer
      * by joining the shortest queue rather than the first non-full queue.
@@ -1,5 +1,7 @@
 package cs2030.simulator;
 
+import java.util.Map;
+
 /**
  * Represents a HumanServer object. Human Servers differ from normal Server objects because they
  * take breaks occasionally. Apart from that, HumanServer objects function the same way as normal
@@ -7,6 +9,21 @@ package cs2030.simulator;
  */
 class HumanServer extends Server {
 
+    /**
+     * The SERVER_REST Event of this HumanServer, reused for every break.
+     */
+    private Event restEvent;
+
+    /**
+     * The SERVER_BACK Event of this HumanServer, reused for every break.
+     */
+    private Event backEvent;
+
+    /**
+     * Represents whether this HumanServer is on a break.
+     */
+    private boolean isResting;
+
     /**
      * Creates a HumanServer object.
      * @param serverID the unique ID of this Server object.
@@ -17,6 +34,53 @@ class HumanServer extends Server {
         super(serverID, nextAvailable, maxQueueLength);
     }
 
+    /**
+     * Creates a HumanServer object, so that copies of this HumanServer also take breaks.
+     * @param serverID the unique ID of the new Server object.
+     * @param nextAvailable the next available serving time for the new Server object.
+     * @param maxQueueLength the maximum allowed Customer queue length.
+     * @return returns the new HumanServer object.
+     */
+    @Override
+    Server newServer(int serverID, double nextAvailable, int maxQueueLength) {
+        return new HumanServer(serverID, nextAvailable, maxQueueLength);
+    }
+
+    /**
+     * Copies this HumanServer, including whether it is on a break.
+     * @param eventCopies maps each Event to its copy. Events without a copy are copied and added.
+     * @return returns a copy of this HumanServer.
+     */
+    @Override
+    Server copy(Map<Event, Event> eventCopies) {
+        HumanServer copy = (HumanServer) super.copy(eventCopies);
+        copy.isResting = this.isResting;
+        return copy;
+    }
+
+    /**
+     * Resets this HumanServer to its initial state, so that it can be reused in a new simulation.
+     */
+    @Override
+    void reset() {
+        super.reset();
+        this.isResting = false;
+    }
+
+    /**
+     * Predicts the time at which the last Customer in the queue of this HumanServer will be
+     * served. Besides the expected service time of each Customer ahead, this HumanServer may
+     * rest after each service before that Customer's, including its current service unless it
+     * is already resting, and each break is expected to last the mean rest period.
+     * @return returns the predicted time at which the last Customer in the queue is served.
+     */
+    @Override
+    double predictServiceStart() {
+        int breaksAhead = isResting ? lengthOfQueue() - 1 : lengthOfQueue();
+        return super.predictServiceStart() + Math.max(breaksAhead, 0)
+                * Manager.probabilityOfResting / Manager.randGen.getRestingRate();
+    }
+
     /**
      * Evaluates an Event if their State is Done. The Event will not be modified, and will not be
      * re-inserted into the EventQueue. There is a possibility that this HumanServer will take a
@@ -41,12 +105,35 @@ class HumanServer extends Server {
     /**
      * Represents the Server going for a break. A SERVER_REST Event is scheduled immediately.
      * As the Server rests, all Customers in its queue will wait for as long as the Server is
-     * resting. A SERVER_BACK Event is scheduled at the end of the break.
+     * resting. A SERVER_BACK Event is scheduled at the end of the break. Both Events of the
+     * previous break have been evaluated by then, so they are reused.
      */
     void serverRest() {
+        this.isResting = true;
         double restPeriod = Manager.randGen.genRestPeriod();
-        Manager.addToEventQueue(new Event(0, this.getID(), this.getTime(), State.rests));
+        if (restEvent == null) {
+            restEvent = new Event(0, this.getID(), this.getTime(), State.rests);
+        } else {
+            restEvent.reset(0, this.getID(), this.getTime(), State.rests);
+        }
+        Manager.addToEventQueue(restEvent);
         this.setTime(this.getTime() + restPeriod);
-        Manager.addToEventQueue(new Event(0, this.getID(), this.getTime(), State.back));
+        if (backEvent == null) {
+            backEvent = new Event(0, this.getID(), this.getTime(), State.back);
+        } else {
+            backEvent.reset(0, this.getID(), this.getTime(), State.back);
+        }
+        Manager.addToEventQueue(backEvent);
+    }
+
+    /**
+     * Represents this HumanServer returning from a break, or continuing without one. If there is
+     * a queue at this Server, the next Customer in line will immediately be served. Otherwise,
+     * the Server will be available to serve a new Customer.
+     */
+    @Override
+    void serverBack() {
+        this.isResting = false;
+        super.serverBack();
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package cs2030.simulator;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Represents a lognormal distribution of service times, whose logarithm is normally distributed.
+ * Each sample takes two uniform doubles, which are turned into a standard normal double with the
+ * Box-Muller transform.
+ */
+public class LognormalDistribution implements ServiceTimeDistribution {
+
+    /**
+     * Represents the mean of the logarithm of the service time.
+     */
+    private final double mu;
+
+    /**
+     * Represents the standard deviation of the logarithm of the service time.
+     */
+    private final double sigma;
+
+    /**
+     * Constructs a LognormalDistribution object.
+     * @param mu the mean of the logarithm of the service time.
+     * @param sigma the standard deviation of the logarithm of the service time, which must be
+     *     non-negative.
+     */
+    public LognormalDistribution(double mu, double sigma) {
+        if (!(sigma >= 0)) {
+            throw new IllegalArgumentException("sigma must be non-negative");
+        }
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    /**
+     * Constructs a LognormalDistribution object with a given mean and standard deviation of the
+     * service time itself, such as those fitted from observed service times.
+     * @param mean the mean service time, which must be positive.
+     * @param standardDeviation the standard deviation of the service time.
+     * @return returns the LognormalDistribution with the given mean and standard deviation.
+     */
+    public static LognormalDistribution fromMeanAndStandardDeviation(double mean,
+            double standardDeviation) {
+        if (!(mean > 0)) {
+            throw new IllegalArgumentException("mean must be positive");
+        }
+        double variance = Math.log(1 + standardDeviation * standardDeviation / (mean * mean));
+        return new LognormalDistribution(Math.log(mean) - variance / 2, Math.sqrt(variance));
+    }
+
+    /**
+     * Samples a standard normal double with the Box-Muller transform.
+     * @param uniform a source of random doubles, uniformly distributed between 0 (inclusive)
+     *     and 1 (exclusive).
+     * @return returns a normally distributed double with mean 0 and standard deviation 1.
+     */
+    static double sampleStandardNormal(DoubleSupplier uniform) {
+        double radius = Math.sqrt(-2 * Math.log(1 - uniform.getAsDouble()));
+        return radius * Math.cos(2 * Math.PI * uniform.getAsDouble());
+    }
+
+    /**
+     * Calculates the mean service time.
+     * @return returns the mean service time.
+     */
+    @Override
+    public double getMean() {
+        return Math.exp(mu + sigma * sigma / 2);
+    }
+
+    /**
+     * Samples a service time, as the exponential of a normal double with mean mu and standard
+     * deviation sigma.
+     * @param uniform a source of random doubles, uniformly distributed between 0 (inclusive)
+     *     and 1 (exclusive).
+     * @return returns a positive service time.
+     */
+    @Override
+    public double sample(DoubleSupplier uniform) {
+        return Math.exp(mu + sigma * sampleStandardNormal(uniform));
+    }
+}
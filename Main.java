@@ -1,5 +1,9 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.util.Scanner;
 import cs2030.simulator.Manager;
+import cs2030.simulator.ResultCache;
 
 public class Main {
     /**
@@ -9,6 +13,8 @@ public class Main {
      * (2) the Server, Customer, and Event objects are created
      * (3) the Event objects are evaluated until the Manager is empty
      * (4) the result and relevant statistics are printed out.
+     * If a cache directory is given as the first argument, the result is stored there, and a
+     * later run with the same inputs prints the stored result instead of evaluating the Events.
      */
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
@@ -24,10 +30,32 @@ public class Main {
         double probabilityOfResting = scanner.nextDouble();
         double probabilityOfGreedy = scanner.nextDouble();
 
+        ResultCache cache = null;
+        String key = null;
+        if (args.length > 0) {
+            cache = new ResultCache(Paths.get(args[0]), ResultCache.DEFAULT_MAX_BYTES);
+            key = ResultCache.keyOf(seedValue, numberOfServers, numberOfCounters, maxQueueLength,
+                    numberOfCustomers, arrivalRate, serviceRate, restingRate,
+                    probabilityOfResting, probabilityOfGreedy);
+
+            String statistics = cache.getStatistics(key);
+            String trace = cache.getTrace(key);
+            if (statistics != null && trace != null) {
+                System.out.print(trace);
+                System.out.println(statistics);
+                return;
+            }
+        }
+
         Manager manager = new Manager(seedValue, numberOfServers, numberOfCounters, maxQueueLength,
                 numberOfCustomers, arrivalRate, serviceRate, restingRate, probabilityOfResting,
                 probabilityOfGreedy);
 
+        ByteArrayOutputStream trace = new ByteArrayOutputStream();
+        if (cache != null) {
+            Manager.setTraceStream(new PrintStream(trace));
+        }
+
         manager.initializeServers();
 
         manager.initializeCustomers();
@@ -36,6 +64,11 @@ public class Main {
         
         manager.evaluateAllEvents();
 
+        if (cache != null) {
+            System.out.print(trace.toString());
+            cache.put(key, manager.toString(), trace.toString());
+        }
+
         System.out.println(manager.toString());
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,11 @@ package cs2030.simulator;
 
 import java.util.PriorityQueue;
 import java.util.Queue;
-import java.util.LinkedList;
-import cs2030.simulator.RandomGenerator;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Arrays;
+import java.io.PrintStream;
 
 /**
  * Evaluates the order of Events. 'Manager' contains methods for
@@ -23,6 +26,31 @@ public class Manager {
      */
     static Customer[] customerArray;
 
+    /**
+     * Represents whether each Customer object is still in the simulation. A Customer leaves the
+     * simulation once it leaves or is done being served, and its place in the array can then be
+     * reused by a Customer added later.
+     */
+    private static boolean[] isInSystem;
+
+    /**
+     * Contains Customer objects of a previous simulation that were replaced by a Customer of a
+     * different type, kept so that they can be reused when the simulation is reset.
+     */
+    private static Customer[] spareCustomerArray;
+
+    /**
+     * Contains the Event objects representing the Customer objects, kept so that they can be
+     * reused when the simulation is reset.
+     */
+    private static Event[] eventArray;
+
+    /**
+     * Holds the Events while the PriorityQueue is re-sorted. Kept so that re-sorting does not
+     * create a new queue each time.
+     */
+    private static Queue<Event> rearrangementQueue = new ArrayDeque<Event>();
+
     /**
      * Contains the Server objects.
      */
@@ -31,7 +59,7 @@ public class Manager {
     /**
      * A RandomGenerator that generates numbers.
      */
-    static RandomGenerator randGen;
+    static SeededRandomGenerator randGen;
 
     /**
      * Represents the maximum allowed queue length per Server.
@@ -43,6 +71,34 @@ public class Manager {
      */
     static double probabilityOfResting;
 
+    /**
+     * Represents the number of Servers sampled by each SamplingCustomer. If it is 0, greedy
+     * Customers inspect every Server instead.
+     */
+    static int numberOfChoices;
+
+    /**
+     * A RandomStream that SamplingCustomers sample Servers with, separate from the
+     * RandomGenerator so that sampling does not change the arrival and service times.
+     */
+    static RandomStream choiceStream;
+
+    /**
+     * A RandomStream that Servers with their own distribution of service times sample from,
+     * separate from the RandomGenerator so that the other Servers are not affected.
+     */
+    static RandomStream serviceStream;
+
+    /**
+     * The stream that evaluated Events are printed to. No Events are printed if it is null.
+     */
+    static PrintStream traceStream = System.out;
+
+    /**
+     * Receives the predicted waiting time of each Customer, if it is not null.
+     */
+    static WaitListener waitListener;
+
     /**
      * Represents the number of HumanServer objects to create.
      */
@@ -62,6 +118,33 @@ public class Manager {
      * Represents the probability that a new Customer object will be a GreedyCustomer.
      */
     private double probabilityOfGreedy;
+
+    /**
+     * Represents the number of HumanServer objects given to the constructor, before any are
+     * added.
+     */
+    private int initialNumberOfServers;
+
+    /**
+     * Represents the number of normal Server objects given to the constructor, before any are
+     * added.
+     */
+    private int initialNumberOfCounters;
+
+    /**
+     * Represents the arrival rate of Customers given to the constructor.
+     */
+    private double arrivalRate;
+
+    /**
+     * Represents the service rate of Servers given to the constructor, before any change.
+     */
+    private double serviceRate;
+
+    /**
+     * Represents the resting rate of HumanServers given to the constructor, before any change.
+     */
+    private double restingRate;
     
     /**
      * Constructs a Manager object.
@@ -85,10 +168,159 @@ public class Manager {
         this.numberOfCustomers = numberOfCustomers;
         this.probabilityOfResting = probabilityOfResting;
         this.probabilityOfGreedy = probabilityOfGreedy;
-        this.randGen = new RandomGenerator(seedValue, arrivalRate, serviceRate, restingRate);
+        this.initialNumberOfServers = numberOfServers;
+        this.initialNumberOfCounters = numberOfCounters;
+        this.arrivalRate = arrivalRate;
+        this.serviceRate = serviceRate;
+        this.restingRate = restingRate;
+        this.randGen = new SeededRandomGenerator(seedValue, arrivalRate, serviceRate, restingRate);
+        Manager.numberOfChoices = 0;
+        Manager.choiceStream = new RandomStream(seedValue);
+        Manager.serviceStream = new RandomStream(~seedValue);
         serverArray = new Server[numberOfServers + numberOfCounters];
         customerArray = new Customer[numberOfCustomers];
+        isInSystem = new boolean[numberOfCustomers];
+        spareCustomerArray = new Customer[numberOfCustomers];
+        eventArray = new Event[numberOfCustomers];
         eventQueue = new PriorityQueue<Event>(new EventComparator());
+        Server.resetStatistics();
+    }
+
+    /**
+     * Resets the simulation, so that it can be evaluated again with a new seed value, without
+     * creating its objects again. The PriorityQueue and the Customer queue of each Server are
+     * cleared but keep their capacity, the Servers become available, the statistics are set to
+     * zero, and the RandomGenerator restarts from the new seed value. The existing Customer and
+     * Event objects are then reused by initializeCustomers and initializeEvents, so after a few
+     * simulations, new objects are only created for the RandomGenerator.
+     * Changes made since the Manager was constructed are undone: Servers added to a branch are
+     * removed, the rates given to the constructor are used again, and Customers added to a live
+     * simulation are discarded, so the simulation starts as a new Manager would.
+     * Must be called on the most recently created Manager, after its Servers are initialized.
+     * @param seedValue is the new seed value used for the RandomGenerator object.
+     */
+    public void reset(int seedValue) {
+        randGen.reseed(seedValue, arrivalRate, serviceRate, restingRate);
+        choiceStream.reseed(seedValue);
+        serviceStream.reseed(~seedValue);
+        eventQueue.clear();
+
+        numberOfServers = initialNumberOfServers;
+        numberOfCounters = initialNumberOfCounters;
+        if (serverArray.length != numberOfServers + numberOfCounters) {
+            serverArray = Arrays.copyOf(serverArray, numberOfServers + numberOfCounters);
+        }
+        for (Server server : serverArray) {
+            server.reset();
+        }
+
+        if (customerArray.length != numberOfCustomers) {
+            customerArray = new Customer[numberOfCustomers];
+            isInSystem = new boolean[numberOfCustomers];
+        }
+        Arrays.fill(isInSystem, false);
+        Server.resetStatistics();
+    }
+
+    /**
+     * Sets the number of Servers sampled by each greedy Customer. Must be called before the
+     * Customer objects are initialized. With 0 choices, the default, greedy Customers inspect
+     * every Server; otherwise they are created as SamplingCustomers.
+     * @param numberOfChoices the number of Servers to sample.
+     */
+    public void setNumberOfChoices(int numberOfChoices) {
+        Manager.numberOfChoices = numberOfChoices;
+    }
+
+    /**
+     * Sets the distribution of service times of a Server, such as one fitted to the service
+     * times observed at a particular counter. Must be called after the Server objects are
+     * initialized. Other Servers keep generating exponential service times with the
+     * RandomGenerator.
+     * @param serverID the ID of the Server.
+     * @param serviceDistribution the distribution to sample service times from, or null to
+     *     generate them with the RandomGenerator.
+     */
+    public void setServiceDistribution(int serverID, ServiceTimeDistribution serviceDistribution) {
+        serverArray[serverID - 1].setServiceDistribution(serviceDistribution);
+    }
+
+    /**
+     * Sets the stream that evaluated Events are printed to.
+     * @param stream the stream to print Events to, or null to stop printing Events.
+     */
+    public static void setTraceStream(PrintStream stream) {
+        traceStream = stream;
+    }
+
+    /**
+     * Sets the WaitListener that receives the predicted waiting time of each Customer.
+     * @param listener the WaitListener, or null to stop predicting waiting times.
+     */
+    public static void setWaitListener(WaitListener listener) {
+        waitListener = listener;
+    }
+
+    /**
+     * Sends the predicted waiting time of a Customer to the WaitListener, if there is one.
+     * @param event the Event representing the Customer.
+     * @param predictedServiceStart the time at which the Customer is predicted to be served.
+     */
+    static void predictWait(Event event, double predictedServiceStart) {
+        if (waitListener != null) {
+            Customer customer = getCustomer(event.getCustomerID());
+            waitListener.waitPredicted(customer.getID(), customer.getTime(),
+                    predictedServiceStart - customer.getTime());
+        }
+    }
+
+    /**
+     * Gets a Customer object by its ID. Customers are stored at their ID minus one, modulo the
+     * length of the array, so that Customers added to a live simulation reuse the places of
+     * Customers that have left.
+     * @param customerID the ID of the Customer.
+     * @return returns the Customer object.
+     */
+    static Customer getCustomer(int customerID) {
+        return customerArray[(customerID - 1) % customerArray.length];
+    }
+
+    /**
+     * Records that a Customer has left the simulation, so that its place in the array can be
+     * reused.
+     * @param customerID the ID of the Customer.
+     */
+    static void releaseCustomer(int customerID) {
+        isInSystem[(customerID - 1) % customerArray.length] = false;
+    }
+
+    /**
+     * Doubles the length of the array of Customer objects. The Customers still in the simulation
+     * are moved to their places in the longer array, and the others are discarded.
+     */
+    private static void growCustomerArray() {
+        Customer[] oldCustomerArray = customerArray;
+        boolean[] oldIsInSystem = isInSystem;
+        customerArray = new Customer[oldCustomerArray.length == 0 ? 16
+                : oldCustomerArray.length * 2];
+        isInSystem = new boolean[customerArray.length];
+        for (int i = 0; i < oldCustomerArray.length; i++) {
+            if (oldIsInSystem[i]) {
+                int index = (oldCustomerArray[i].getID() - 1) % customerArray.length;
+                customerArray[index] = oldCustomerArray[i];
+                isInSystem[index] = true;
+            }
+        }
+    }
+
+    /**
+     * Prints an Event to the trace stream, if there is one.
+     * @param event the Event to be printed.
+     */
+    static void printEvent(Event event) {
+        if (traceStream != null) {
+            traceStream.println(event.toString());
+        }
     }
     
     /**
@@ -117,7 +349,9 @@ public class Manager {
     /**
      * Initializes the Customer objects. A numberOfCustomers number of Customers are created.
      * The values of the RandomGenerator object determine their arrival times and whether
-     * they are GreedyCustomers. Customer objects are stored in an array.
+     * they are GreedyCustomers. Customer objects are stored in an array, reusing the Customer
+     * objects of a previous simulation where they are of the same type. A replaced Customer
+     * object is kept as a spare, so that it can be reused if its type is needed again.
      */
     public void initializeCustomers() {
         double currentTime = 0;
@@ -125,28 +359,91 @@ public class Manager {
             Server.numberOfCustomers++;
             double timeToNextArrival = randGen.genInterArrivalTime();
             
-            Customer nextCustomer;
-            if (randGen.genCustomerType() < probabilityOfGreedy) {
-                nextCustomer = new GreedyCustomer(Server.numberOfCustomers, currentTime);
-            } else {
-                nextCustomer = new Customer(Server.numberOfCustomers, currentTime);
-            }
+            Customer nextCustomer = newCustomer(Server.numberOfCustomers, currentTime,
+                    customerArray[i], spareCustomerArray[i]);
             
             currentTime += timeToNextArrival;
+            if (nextCustomer != customerArray[i]) {
+                spareCustomerArray[i] = customerArray[i];
+            }
             customerArray[i] = nextCustomer;
+            isInSystem[i] = true;
+        }
+    }
+
+    /**
+     * Creates a Customer object. The values of the RandomGenerator object determine whether it
+     * is a GreedyCustomer, which is created as a SamplingCustomer if Servers are sampled.
+     * If a previous Customer object of the same type is given, it is reused instead.
+     * @param customerID the unique ID of the new Customer.
+     * @param arrivalTime the arrival time of the new Customer.
+     * @param recycled a Customer object that is no longer used, or null if there is none.
+     * @param spare another Customer object that is no longer used, or null if there is none.
+     * @return returns the new Customer object.
+     */
+    private Customer newCustomer(int customerID, double arrivalTime, Customer recycled,
+            Customer spare) {
+        Class<? extends Customer> type;
+        if (randGen.genCustomerType() < probabilityOfGreedy) {
+            type = numberOfChoices > 0 ? SamplingCustomer.class : GreedyCustomer.class;
+        } else {
+            type = Customer.class;
         }
+
+        if (recycled != null && recycled.getClass() == type) {
+            recycled.reset(customerID, arrivalTime);
+            return recycled;
+        } else if (spare != null && spare.getClass() == type) {
+            spare.reset(customerID, arrivalTime);
+            return spare;
+        } else if (type == SamplingCustomer.class) {
+            return new SamplingCustomer(customerID, arrivalTime);
+        } else if (type == GreedyCustomer.class) {
+            return new GreedyCustomer(customerID, arrivalTime);
+        } else {
+            return new Customer(customerID, arrivalTime);
+        }
+    }
+
+    /**
+     * Adds a Customer arriving at a given time, such as a Customer observed in a live system.
+     * The Customer is stored with the other Customer objects, reusing the place and the object
+     * of a Customer that has left, and an Event representing it is inserted into the
+     * PriorityQueue of Events.
+     * The array of Customer objects only grows if its place is still taken, so its length is
+     * bounded by the number of Customers in the simulation at once.
+     * @param arrivalTime the arrival time of the new Customer.
+     */
+    public void addArrival(double arrivalTime) {
+        Server.numberOfCustomers++;
+        int customerID = Server.numberOfCustomers;
+        if (customerArray.length == 0 || isInSystem[(customerID - 1) % customerArray.length]) {
+            growCustomerArray();
+        }
+        int index = (customerID - 1) % customerArray.length;
+        customerArray[index] = newCustomer(customerID, arrivalTime, customerArray[index], null);
+        isInSystem[index] = true;
+        eventQueue.offer(new Event(customerID, 0, arrivalTime, State.arrives));
     }
 
     /**
      * Initializes the Event objects. Event objects are created in a one-to-one ratio with
      * Customer objects, and each Event object represents its respective Customer object.
      * Event objects are initialized with no assigned Server object, and are inserted into
-     * the PriorityQueue of Events.
+     * the PriorityQueue of Events. The Event objects of a previous simulation are reused.
      */
     public void initializeEvents() {
-        for (Customer customer : customerArray) {
-            Event event = new Event(customer.getID(), 0, customer.getTime(), State.arrives);
-            eventQueue.offer(event);
+        if (eventArray.length < customerArray.length) {
+            eventArray = Arrays.copyOf(eventArray, customerArray.length);
+        }
+        for (int i = 0; i < customerArray.length; i++) {
+            Customer customer = customerArray[i];
+            if (eventArray[i] == null) {
+                eventArray[i] = new Event(customer.getID(), 0, customer.getTime(), State.arrives);
+            } else {
+                eventArray[i].reset(customer.getID(), 0, customer.getTime(), State.arrives);
+            }
+            eventQueue.offer(eventArray[i]);
         }
     }
 
@@ -155,7 +452,6 @@ public class Manager {
      * values of the Event objects are modified in-place.
      */
     void reorderEventQueue() {
-        Queue<Event> rearrangementQueue = new LinkedList<Event>();
         while (!eventQueue.isEmpty()) {
             rearrangementQueue.offer(eventQueue.poll());
         }
@@ -174,35 +470,42 @@ public class Manager {
      * (i) the Customer goes to the first available Server, if any,
      * (ii) else the Customer goes to the first available queue, if any,
      * (iii) else the Customer leaves.
-     * @param customer the Customer that the Server is being assigned to.
+     * If the Customer is a SamplingCustomer, it behaves as a greedy Customer, but only considers
+     * the Servers in its random sample.
+     * The Event representing the Customer is assigned the selected Server and dispatched
+     * immediately, as it occurs at the same time.
+     * @param event the Event representing the Customer that the Server is being assigned to.
      */
-    void assignServer(Customer customer) {
-        boolean customerServed = false;
+    void assignServer(Event event) {
+        Customer customer = getCustomer(event.getCustomerID());
+        int selectedServerID = customer.scanIdleServers();
 
-        for (Server server : serverArray) {
-            if (!server.isServingCustomer()) {
-                eventQueue.offer(new Event(customer.getID(), server.getID(), customer.getTime(),
-                    State.arrives));
-                customerServed = true;
-                break;
-            }
+        if (selectedServerID == 0) {
+            selectedServerID = customer.scanAllQueues();
         }
 
-        if (!customerServed) {
-            int selectedServerID = customer.scanAllQueues();
-
-            if (selectedServerID != 0) {
-                eventQueue.offer(new Event(customer.getID(), selectedServerID, customer.getTime(),
-                    State.arrives));
-                customerServed = true;
-            }
+        if (selectedServerID != 0) {
+            event.setServerID(selectedServerID);
+            dispatch(event);
+        } else {
+            printEvent(event);
+            event.setState("leaves");
+            printEvent(event);
+            releaseCustomer(event.getCustomerID());
         }
+    }
 
-        if (!customerServed) {
-            Event event = new Event(customer.getID(), 0, customer.getTime(), State.arrives);
-            System.out.println(event.toString());
-            event.setState("leaves");
-            System.out.println(event.toString());
+    /**
+     * Dispatches an Event produced while evaluating another Event. If the new Event would be the
+     * next Event polled from the PriorityQueue, it is evaluated immediately instead of being
+     * inserted and polled again. Otherwise, it is inserted into the PriorityQueue.
+     * @param event the Event to be dispatched.
+     */
+    void dispatch(Event event) {
+        if (eventQueue.isEmpty() || eventQueue.comparator().compare(event, eventQueue.peek()) < 0) {
+            doEventLogic(event);
+        } else {
+            eventQueue.offer(event);
         }
     }
 
@@ -215,11 +518,15 @@ public class Manager {
         String eventState = event.getState();
         Server server = serverArray[event.getServerID() - 1];
 
-        System.out.println(event.toString());
+        printEvent(event);
 
         if (eventState.equals("arrives")) {
 
-            eventQueue.offer(server.customerArrives(event));
+            Event nextEvent = server.customerArrives(event);
+            if (nextEvent.getState().equals("served")) {
+                predictWait(nextEvent, nextEvent.getTime());
+            }
+            dispatch(nextEvent);
 
         } else if (eventState.equals("served")) {
 
@@ -228,11 +535,14 @@ public class Manager {
 
         } else if (eventState.equals("waits")) {
 
-            eventQueue.offer(server.customerWaits(event));
+            Event nextEvent = server.customerWaits(event);
+            predictWait(nextEvent, server.predictServiceStart());
+            dispatch(nextEvent);
 
         } else if (eventState.equals("done")) {
 
             server.customerDone(event);
+            releaseCustomer(event.getCustomerID());
 
         } else if (eventState.equals("rests")) {
 
@@ -242,6 +552,10 @@ public class Manager {
 
             server.serverBack();
 
+        } else if (eventState.equals("leaves")) {
+
+            releaseCustomer(event.getCustomerID());
+
         }
     }
 
@@ -253,7 +567,7 @@ public class Manager {
     void evaluateNextEvent() {
         Event event = eventQueue.poll();
         if (event.getServerID() == 0) {
-            assignServer(customerArray[event.getCustomerID() - 1]);
+            assignServer(event);
         } else {
             doEventLogic(event);
         }
@@ -269,6 +583,99 @@ public class Manager {
         }
     }
 
+    /**
+     * Evaluates the Events in the PriorityQueue that occur before a given time. Events at or
+     * after that time remain in the PriorityQueue, so that evaluation can be continued later.
+     * @param time the simulated time to evaluate Events up to.
+     */
+    public void evaluateEventsUntil(double time) {
+        while (!eventQueue.isEmpty() && eventQueue.peek().getTime() < time) {
+            evaluateNextEvent();
+        }
+    }
+
+    /**
+     * Takes a Snapshot of the simulation. The simulation is evaluated up to the given time first,
+     * and the Snapshot can later be restored any number of times to evaluate different branches
+     * of the simulation from that point onwards.
+     * @param time the simulated time at which the Snapshot is taken.
+     * @return returns a Snapshot of the simulation at the given time.
+     */
+    public Snapshot fork(double time) {
+        evaluateEventsUntil(time);
+        return new Snapshot(time, eventQueue.toArray(new Event[0]), serverArray, customerArray,
+                isInSystem, randGen, choiceStream, serviceStream, numberOfServers,
+                numberOfCounters);
+    }
+
+    /**
+     * Restores the simulation to a Snapshot. The Snapshot is copied rather than used directly,
+     * so that it is not modified as the simulation continues.
+     * @param snapshot the Snapshot to be restored.
+     */
+    public void restore(Snapshot snapshot) {
+        Map<Event, Event> eventCopies = new IdentityHashMap<Event, Event>();
+        eventQueue = new PriorityQueue<Event>(new EventComparator());
+        for (Event event : snapshot.getEvents(eventCopies)) {
+            eventQueue.offer(event);
+        }
+        serverArray = snapshot.getServers(eventCopies);
+        customerArray = snapshot.getCustomers();
+        isInSystem = snapshot.getIsInSystem();
+        randGen = snapshot.getRandGen();
+        choiceStream = snapshot.getChoiceStream();
+        serviceStream = snapshot.getServiceStream();
+        numberOfChoices = snapshot.getNumberOfChoices();
+        numberOfServers = snapshot.getNumberOfServers();
+        numberOfCounters = snapshot.getNumberOfCounters();
+        maxQueueLength = snapshot.getMaxQueueLength();
+        probabilityOfResting = snapshot.getProbabilityOfResting();
+        Server.numberOfCustomers = snapshot.getNumberOfCustomers();
+        Server.numberOfCustomersServed = snapshot.getNumberOfCustomersServed();
+        Server.totalTimeWaited = snapshot.getTotalTimeWaited();
+    }
+
+    /**
+     * Adds HumanServers and normal Servers to the simulation, such as when another counter is
+     * opened partway through. New Server objects are given the next unused Server IDs and are
+     * immediately available to serve Customers.
+     * @param numberOfNewServers the number of HumanServers to add.
+     * @param numberOfNewCounters the number of normal Servers to add.
+     */
+    public void addServers(int numberOfNewServers, int numberOfNewCounters) {
+        int oldLength = serverArray.length;
+        serverArray = Arrays.copyOf(serverArray, oldLength + numberOfNewServers
+                + numberOfNewCounters);
+        for (int i = oldLength; i < oldLength + numberOfNewServers; i++) {
+            serverArray[i] = new HumanServer(i + 1, 0.000, maxQueueLength);
+        }
+        for (int i = oldLength + numberOfNewServers; i < serverArray.length; i++) {
+            serverArray[i] = new Server(i + 1, 0.000, maxQueueLength);
+        }
+        numberOfServers += numberOfNewServers;
+        numberOfCounters += numberOfNewCounters;
+    }
+
+    /**
+     * Changes the rates used to generate service times and rest periods from this point onwards.
+     * The sequence of random numbers is unaffected, so that branches which differ only in their
+     * rates can be compared directly.
+     * @param serviceRate is the new service rate of Servers.
+     * @param restingRate is the new resting rate of HumanServers.
+     */
+    public void changeRates(double serviceRate, double restingRate) {
+        randGen = randGen.withRates(randGen.getArrivalRate(), serviceRate, restingRate);
+    }
+
+    /**
+     * Calculates the average waiting time of the Customers served so far.
+     * @return the average waiting time, or 0 if no Customers have been served.
+     */
+    double getAverageWaitingTime() {
+        int count = Server.numberOfCustomersServed;
+        return count == 0 ? 0 : Server.totalTimeWaited / (double) count;
+    }
+
     /**
      * Prints the statistics of the simulation.
      * @return a String containing the statistics.
@@ -276,7 +683,7 @@ public class Manager {
     @Override
     public String toString() {
         int count = Server.numberOfCustomersServed;
-        double timeWaited = count == 0 ? 0 : Server.totalTimeWaited / (double) count;
+        double timeWaited = getAverageWaitingTime();
         return ("[" + String.format("%.3f", 
             timeWaited) + " " + count + " " + (Server.numberOfCustomers - count) + "]");
     }
@@ -0,0 +1,104 @@
+package cs2030.simulator;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Represents a phase-type distribution of service times, as a mixture of Erlang distributions.
+ * A service passes through one of several branches, chosen with an AliasTable. The branch is a
+ * sequence of exponential phases with the same rate, so its total time is Erlang distributed.
+ * The Erlang time is sampled directly as a gamma variate with the method of Marsaglia and Tsang,
+ * rather than phase by phase. As a result, sampling takes the same expected time however many
+ * branches and phases there are.
+ */
+public class PhaseTypeDistribution implements ServiceTimeDistribution {
+
+    /**
+     * Selects a branch with its given probability.
+     */
+    private final AliasTable branches;
+
+    /**
+     * Contains the number of phases of each branch.
+     */
+    private final int[] numberOfPhases;
+
+    /**
+     * Contains the rate of the phases of each branch.
+     */
+    private final double[] rates;
+
+    /**
+     * Represents the mean service time.
+     */
+    private final double mean;
+
+    /**
+     * Constructs a PhaseTypeDistribution object.
+     * @param probabilities the probability of each branch, which need not sum to 1.
+     * @param numberOfPhases the number of phases of each branch, which must be positive.
+     * @param rates the rate of the phases of each branch, which must be positive.
+     */
+    public PhaseTypeDistribution(double[] probabilities, int[] numberOfPhases, double[] rates) {
+        if (probabilities.length != numberOfPhases.length
+                || probabilities.length != rates.length) {
+            throw new IllegalArgumentException("every branch needs a probability, phases and rate");
+        }
+        for (int i = 0; i < probabilities.length; i++) {
+            if (numberOfPhases[i] <= 0 || !(rates[i] > 0)) {
+                throw new IllegalArgumentException("phases and rates must be positive");
+            }
+        }
+        this.branches = new AliasTable(probabilities);
+        this.numberOfPhases = numberOfPhases.clone();
+        this.rates = rates.clone();
+
+        double total = 0;
+        double sum = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            total += probabilities[i];
+            sum += probabilities[i] * numberOfPhases[i] / rates[i];
+        }
+        this.mean = sum / total;
+    }
+
+    /**
+     * Calculates the mean service time.
+     * @return returns the mean service time.
+     */
+    @Override
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Samples a service time. A single phase is sampled as an exponential time. Otherwise, the
+     * Marsaglia-Tsang method proposes a gamma variate from a normal double and accepts it with
+     * a uniform double, which needs about 1.05 proposals on average for 2 or more phases.
+     * @param uniform a source of random doubles, uniformly distributed between 0 (inclusive)
+     *     and 1 (exclusive).
+     * @return returns a non-negative service time.
+     */
+    @Override
+    public double sample(DoubleSupplier uniform) {
+        int branch = branches.sample(uniform.getAsDouble());
+        double rate = rates[branch];
+        if (numberOfPhases[branch] == 1) {
+            return -Math.log(1 - uniform.getAsDouble()) / rate;
+        }
+
+        double d = numberOfPhases[branch] - 1.0 / 3;
+        double c = 1 / Math.sqrt(9 * d);
+        while (true) {
+            double z = LognormalDistribution.sampleStandardNormal(uniform);
+            double v = 1 + c * z;
+            if (v <= 0) {
+                continue;
+            }
+            v = v * v * v;
+            double u = 1 - uniform.getAsDouble();
+            if (Math.log(u) < 0.5 * z * z + d - d * v + d * Math.log(v)) {
+                return d * v / rate;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package cs2030.simulator;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Represents a stream of random numbers that is independent of the RandomGenerator, so that
+ * drawing from it does not change the arrival, service, or rest times of a simulation.
+ * Numbers are generated by the SplitMix64 algorithm, whose whole state is a single long, so a
+ * RandomStream can be copied cheaply.
+ */
+class RandomStream implements DoubleSupplier {
+
+    /**
+     * Represents the amount the state advances by per number generated.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Represents the current state of this RandomStream.
+     */
+    private long state;
+
+    /**
+     * Constructs a RandomStream object.
+     * @param seed the seed value of the stream.
+     */
+    RandomStream(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Restarts this RandomStream from a new seed value.
+     * @param seed the new seed value of the stream.
+     */
+    void reseed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Generates the next 64 random bits.
+     * @return returns a random long.
+     */
+    long nextLong() {
+        state += GOLDEN_GAMMA;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generates a random double that is at least 0 and less than 1.
+     * @return returns a uniformly distributed double.
+     */
+    double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Generates a random double that is at least 0 and less than 1, so that a RandomStream can
+     * be given to a ServiceTimeDistribution as a source of uniform doubles.
+     * @return returns a uniformly distributed double.
+     */
+    @Override
+    public double getAsDouble() {
+        return nextDouble();
+    }
+
+    /**
+     * Generates a random int that is at least 0 and less than a bound.
+     * @param bound the upper bound, which must be positive.
+     * @return returns a uniformly distributed int.
+     */
+    int nextInt(int bound) {
+        return (int) ((nextLong() >>> 33) * bound >>> 31);
+    }
+
+    /**
+     * Copies this RandomStream. The copy generates the same numbers as this object from this
+     * point onwards, but neither affects the other.
+     * @return returns a RandomStream with the same state.
+     */
+    RandomStream copy() {
+        return new RandomStream(state);
+    }
+}
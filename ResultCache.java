@@ -0,0 +1,314 @@
+package cs2030.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the results of simulations on disk, so that a simulation with the same inputs does not
+ * have to be evaluated again. The simulation is deterministic for a given seed value, so each
+ * result is keyed by a hash of the seed value and all Manager parameters.
+ * Each entry consists of a statistics file and, optionally, a compressed trace of the Events.
+ * Reading an entry marks it as recently used, and the least recently used entries are evicted
+ * whenever the cache grows beyond its maximum size.
+ * Several processes may share a cache directory: every access holds a lock on a lock file in the
+ * directory, shared for reading and exclusive for writing. A process can only hold that lock once,
+ * so within a process, every ResultCache object of the same directory first takes a lock shared
+ * by all of them.
+ */
+public class ResultCache {
+
+    /**
+     * Represents the default maximum size of a cache, in bytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Identifies the format of the entries, so that entries from an older format are not used.
+     */
+    static final String FORMAT_VERSION = "1";
+
+    /**
+     * Represents the file name suffix of statistics files.
+     */
+    static final String STATISTICS_SUFFIX = ".stats";
+
+    /**
+     * Represents the file name suffix of compressed trace files.
+     */
+    static final String TRACE_SUFFIX = ".trace.gz";
+
+    /**
+     * Represents the file name suffix of temporary files, which are moved into place once they
+     * are completely written.
+     */
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /**
+     * Maps the real path of each cache directory to the lock that the ResultCache objects of
+     * that directory in this process take before locking the lock file.
+     */
+    private static final Map<Path, ReentrantLock> DIRECTORY_LOCKS =
+            new ConcurrentHashMap<Path, ReentrantLock>();
+
+    /**
+     * The directory containing the entries.
+     */
+    private Path directory;
+
+    /**
+     * Represents the maximum total size of the entries, in bytes.
+     */
+    private long maxBytes;
+
+    /**
+     * The lock shared by all ResultCache objects of the same directory in this process.
+     */
+    private ReentrantLock directoryLock;
+
+    /**
+     * Constructs a ResultCache object, creating its directory if necessary.
+     * @param directory the directory containing the entries.
+     * @param maxBytes the maximum total size of the entries, in bytes.
+     */
+    public ResultCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            this.directoryLock = DIRECTORY_LOCKS.computeIfAbsent(directory.toRealPath(),
+                    path -> new ReentrantLock());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Computes the key of a simulation from its seed value and Manager parameters.
+     * @param seedValue is the seed value used for the RandomGenerator object.
+     * @param numberOfServers is the number of HumanServers.
+     * @param numberOfCounters is the number of normal Servers.
+     * @param maxQueueLength is the maximum allowed queue length per Server.
+     * @param numberOfCustomers is the number of Customers.
+     * @param arrivalRate is the arrival rate of Customers.
+     * @param serviceRate is the service rate of Servers.
+     * @param restingRate is the resting rate of HumanServers.
+     * @param probabilityOfResting is the probability of resting for HumanServers.
+     * @param probabilityOfGreedy is the probability of a GreedyCustomer arriving.
+     * @return returns the key, as a hexadecimal String.
+     */
+    public static String keyOf(int seedValue, int numberOfServers, int numberOfCounters,
+            int maxQueueLength, int numberOfCustomers, double arrivalRate, double serviceRate,
+            double restingRate, double probabilityOfResting, double probabilityOfGreedy) {
+        String parameters = FORMAT_VERSION + " " + seedValue + " " + numberOfServers + " "
+                + numberOfCounters + " " + maxQueueLength + " " + numberOfCustomers + " "
+                + arrivalRate + " " + serviceRate + " " + restingRate + " "
+                + probabilityOfResting + " " + probabilityOfGreedy;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(parameters.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : hash) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the statistics stored for a key, and marks the entry as recently used.
+     * @param key the key of the simulation.
+     * @return returns the statistics, or null if there is no entry for the key.
+     */
+    public String getStatistics(String key) {
+        directoryLock.lock();
+        try (FileChannel channel = openLockFile()) {
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+            try {
+                Path statisticsFile = directory.resolve(key + STATISTICS_SUFFIX);
+                byte[] statistics = Files.readAllBytes(statisticsFile);
+                Files.setLastModifiedTime(statisticsFile, FileTime.fromMillis(
+                        System.currentTimeMillis()));
+                return new String(statistics, StandardCharsets.UTF_8);
+            } finally {
+                lock.release();
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            directoryLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the trace stored for a key.
+     * @param key the key of the simulation.
+     * @return returns the trace, or null if no trace is stored for the key.
+     */
+    public String getTrace(String key) {
+        directoryLock.lock();
+        try (FileChannel channel = openLockFile()) {
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(
+                    directory.resolve(key + TRACE_SUFFIX)))) {
+                ByteArrayOutputStream trace = new ByteArrayOutputStream();
+                input.transferTo(trace);
+                return trace.toString(StandardCharsets.UTF_8);
+            } finally {
+                lock.release();
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            directoryLock.unlock();
+        }
+    }
+
+    /**
+     * Stores the result of a simulation, then evicts the least recently used entries until the
+     * cache is no larger than its maximum size. The entry just stored is never evicted.
+     * @param key the key of the simulation.
+     * @param statistics the statistics of the simulation.
+     * @param trace the trace of the simulation, or null to store only the statistics.
+     */
+    public void put(String key, String statistics, String trace) {
+        directoryLock.lock();
+        try (FileChannel channel = openLockFile()) {
+            FileLock lock = channel.lock();
+            try {
+                if (trace != null) {
+                    Path temporaryFile = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+                    try (OutputStream output = new GZIPOutputStream(
+                            Files.newOutputStream(temporaryFile))) {
+                        output.write(trace.getBytes(StandardCharsets.UTF_8));
+                    }
+                    Files.move(temporaryFile, directory.resolve(key + TRACE_SUFFIX),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+
+                Path temporaryFile = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+                Files.write(temporaryFile, statistics.getBytes(StandardCharsets.UTF_8));
+                Files.move(temporaryFile, directory.resolve(key + STATISTICS_SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                evictExcept(key);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            directoryLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache is no larger than its maximum size.
+     * Files left by a write that did not finish are deleted first: temporary files, and trace
+     * files without a statistics file. No write is in progress while the exclusive lock is held,
+     * so such files can never become part of an entry.
+     * Must only be called while holding the exclusive lock.
+     * @param keptKey the key of an entry that must not be evicted.
+     * @throws IOException if the entries cannot be listed or deleted.
+     */
+    void evictExcept(String keptKey) throws IOException {
+        List<Path> statisticsFiles = new ArrayList<Path>();
+        long totalBytes = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory,
+                "*{" + STATISTICS_SUFFIX + "," + TRACE_SUFFIX + "," + TEMPORARY_SUFFIX + "}")) {
+            for (Path entry : entries) {
+                String fileName = entry.getFileName().toString();
+                if (fileName.endsWith(TEMPORARY_SUFFIX)) {
+                    deleteIfExists(entry);
+                } else if (fileName.endsWith(TRACE_SUFFIX)) {
+                    String key = fileName.substring(0, fileName.length() - TRACE_SUFFIX.length());
+                    if (Files.exists(directory.resolve(key + STATISTICS_SUFFIX))) {
+                        totalBytes += Files.size(entry);
+                    } else {
+                        deleteIfExists(entry);
+                    }
+                } else {
+                    totalBytes += Files.size(entry);
+                    statisticsFiles.add(entry);
+                }
+            }
+        }
+
+        List<FileTime> lastUsed = new ArrayList<FileTime>();
+        for (Path statisticsFile : statisticsFiles) {
+            lastUsed.add(Files.getLastModifiedTime(statisticsFile));
+        }
+        List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < statisticsFiles.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(lastUsed::get));
+
+        for (int i : order) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            String fileName = statisticsFiles.get(i).getFileName().toString();
+            String key = fileName.substring(0, fileName.length() - STATISTICS_SUFFIX.length());
+            if (key.equals(keptKey)) {
+                continue;
+            }
+            totalBytes -= deleteIfExists(directory.resolve(key + TRACE_SUFFIX));
+            totalBytes -= deleteIfExists(statisticsFiles.get(i));
+        }
+    }
+
+    /**
+     * Deletes a file if it exists.
+     * @param file the file to be deleted.
+     * @return returns the size of the deleted file, or 0 if it did not exist.
+     * @throws IOException if the file cannot be deleted.
+     */
+    private static long deleteIfExists(Path file) throws IOException {
+        try {
+            long size = Files.size(file);
+            Files.delete(file);
+            return size;
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Opens the lock file of the cache directory, creating it if necessary.
+     * @return returns a FileChannel of the lock file, open for reading and writing.
+     * @throws IOException if the lock file cannot be opened.
+     */
+    private FileChannel openLockFile() throws IOException {
+        return FileChannel.open(directory.resolve(".lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,67 @@
+package cs2030.simulator;
+
+/**
+ * Represents one greedy customer that only considers a random sample of Servers. Rather than
+ * inspecting every Server, a SamplingCustomer samples a fixed number of Servers and joins the
+ * best of them, so choosing a Server takes the same time however many Servers there are.
+ */
+class SamplingCustomer extends GreedyCustomer {
+
+    /**
+     * Constructs a SamplingCustomer object.
+     * @param customerID a unique ID assigned to each Customer for identification.
+     * @param arrivalTime designates the arrival time for this Customer.
+     */
+    SamplingCustomer(int customerID, double arrivalTime) {
+        super(customerID, arrivalTime);
+    }
+
+    /**
+     * Copies this SamplingCustomer object, so that the copy is not affected when this one is
+     * reused.
+     * @return returns a SamplingCustomer object with the same ID and arrival time.
+     */
+    @Override
+    Customer copy() {
+        return new SamplingCustomer(getID(), getTime());
+    }
+
+    /**
+     * Selects an idle Server to be served by immediately. A SamplingCustomer does not look for
+     * idle Servers beyond its sample, so this is left to scanAllQueues.
+     * @return returns 0, as no Server is selected.
+     */
+    @Override
+    int scanIdleServers() {
+        return 0;
+    }
+
+    /**
+     * Selects which Server queue to join. Samples Manager.numberOfChoices Servers at random,
+     * and selects the first idle Server among them, if any, or else the first shortest queue
+     * among them that is not full, if any.
+     * @return returns the Server ID of the selected queue that will be joined, or 0 if every
+     *     sampled Server has a full queue.
+     */
+    @Override
+    int scanAllQueues() {
+
+        int currentShortestQueue = Manager.maxQueueLength;
+        int selectedServerID = 0;
+
+        for (int i = 0; i < Manager.numberOfChoices; i++) {
+            Server server = Manager.serverArray[Manager.choiceStream.nextInt(
+                    Manager.serverArray.length)];
+            if (!server.isServingCustomer()) {
+                return server.getID();
+            }
+            if (server.lengthOfQueue() < currentShortestQueue) {
+                currentShortestQueue = server.lengthOfQueue();
+                selectedServerID = server.getID();
+            }
+        }
+
+        return selectedServerID;
+
+    }
+}
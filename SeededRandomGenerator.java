@@ -0,0 +1,176 @@
+package cs2030.simulator;
+
+import cs2030.simulator.RandomGenerator;
+
+/**
+ * Wraps a RandomGenerator so that its position in the seeded sequence can be reproduced.
+ * The number of values generated by each method is counted separately, so a copy is obtained
+ * by reseeding a new RandomGenerator and generating as many values from each method as have
+ * been generated so far. This holds whether the RandomGenerator draws every value from one
+ * sequence or keeps a separate sequence for each kind of value. As every value generated so
+ * far is generated again, copying takes time proportional to the number of values generated.
+ */
+class SeededRandomGenerator {
+
+    /**
+     * Represents the seed value of the wrapped RandomGenerator.
+     */
+    private int seedValue;
+
+    /**
+     * Represents the arrival rate of Customers.
+     */
+    private double arrivalRate;
+
+    /**
+     * Represents the service rate of Servers.
+     */
+    private double serviceRate;
+
+    /**
+     * Represents the resting rate of HumanServers.
+     */
+    private double restingRate;
+
+    /**
+     * The RandomGenerator that generates numbers.
+     */
+    private RandomGenerator randGen;
+
+    /**
+     * Represents the number of inter-arrival times generated so far.
+     */
+    private long numberOfInterArrivalTimes;
+
+    /**
+     * Represents the number of service times generated so far.
+     */
+    private long numberOfServiceTimes;
+
+    /**
+     * Represents the number of rest periods generated so far.
+     */
+    private long numberOfRestPeriods;
+
+    /**
+     * Represents the number of values generated to decide whether HumanServers rest.
+     */
+    private long numberOfRandomRests;
+
+    /**
+     * Represents the number of values generated to decide the types of Customers.
+     */
+    private long numberOfCustomerTypes;
+
+    /**
+     * Constructs a SeededRandomGenerator object.
+     * @param seedValue is the seed value used for the RandomGenerator object.
+     * @param arrivalRate is the arrival rate of Customers.
+     * @param serviceRate is the service rate of Servers.
+     * @param restingRate is the resting rate of HumanServers.
+     */
+    SeededRandomGenerator(int seedValue, double arrivalRate, double serviceRate,
+            double restingRate) {
+        this.seedValue = seedValue;
+        this.arrivalRate = arrivalRate;
+        this.serviceRate = serviceRate;
+        this.restingRate = restingRate;
+        this.randGen = new RandomGenerator(seedValue, arrivalRate, serviceRate, restingRate);
+    }
+
+    /**
+     * Restarts this SeededRandomGenerator from the beginning of the sequence of a new seed value,
+     * generating values with the given rates.
+     * @param seedValue is the new seed value.
+     * @param arrivalRate is the arrival rate of Customers.
+     * @param serviceRate is the service rate of Servers.
+     * @param restingRate is the resting rate of HumanServers.
+     */
+    void reseed(int seedValue, double arrivalRate, double serviceRate, double restingRate) {
+        this.seedValue = seedValue;
+        this.arrivalRate = arrivalRate;
+        this.serviceRate = serviceRate;
+        this.restingRate = restingRate;
+        this.randGen = new RandomGenerator(seedValue, arrivalRate, serviceRate, restingRate);
+        this.numberOfInterArrivalTimes = 0;
+        this.numberOfServiceTimes = 0;
+        this.numberOfRestPeriods = 0;
+        this.numberOfRandomRests = 0;
+        this.numberOfCustomerTypes = 0;
+    }
+
+    double getArrivalRate() {
+        return this.arrivalRate;
+    }
+
+    double getServiceRate() {
+        return this.serviceRate;
+    }
+
+    double getRestingRate() {
+        return this.restingRate;
+    }
+
+    double genInterArrivalTime() {
+        numberOfInterArrivalTimes++;
+        return randGen.genInterArrivalTime();
+    }
+
+    double genServiceTime() {
+        numberOfServiceTimes++;
+        return randGen.genServiceTime();
+    }
+
+    double genRestPeriod() {
+        numberOfRestPeriods++;
+        return randGen.genRestPeriod();
+    }
+
+    double genRandomRest() {
+        numberOfRandomRests++;
+        return randGen.genRandomRest();
+    }
+
+    double genCustomerType() {
+        numberOfCustomerTypes++;
+        return randGen.genCustomerType();
+    }
+
+    /**
+     * Copies this SeededRandomGenerator. The copy generates the same values as this object
+     * from this point onwards, but neither affects the other.
+     * @return returns a SeededRandomGenerator at the same position in the seeded sequence.
+     */
+    SeededRandomGenerator copy() {
+        return withRates(arrivalRate, serviceRate, restingRate);
+    }
+
+    /**
+     * Copies this SeededRandomGenerator with new rates. The copy continues from the same
+     * position in the seeded sequence, but scales the values it generates by the new rates.
+     * @param arrivalRate is the new arrival rate of Customers.
+     * @param serviceRate is the new service rate of Servers.
+     * @param restingRate is the new resting rate of HumanServers.
+     * @return returns a SeededRandomGenerator at the same position in the seeded sequence.
+     */
+    SeededRandomGenerator withRates(double arrivalRate, double serviceRate, double restingRate) {
+        SeededRandomGenerator copy = new SeededRandomGenerator(seedValue, arrivalRate,
+                serviceRate, restingRate);
+        for (long i = 0; i < numberOfInterArrivalTimes; i++) {
+            copy.genInterArrivalTime();
+        }
+        for (long i = 0; i < numberOfServiceTimes; i++) {
+            copy.genServiceTime();
+        }
+        for (long i = 0; i < numberOfRestPeriods; i++) {
+            copy.genRestPeriod();
+        }
+        for (long i = 0; i < numberOfRandomRests; i++) {
+            copy.genRandomRest();
+        }
+        for (long i = 0; i < numberOfCustomerTypes; i++) {
+            copy.genCustomerType();
+        }
+        return copy;
+    }
+}
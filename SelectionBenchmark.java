@@ -0,0 +1,41 @@
+import cs2030.simulator.Manager;
+
+public class SelectionBenchmark {
+    /**
+     * Compares how greedy Customers choose Servers in a large pool of Servers.
+     * Every Customer is greedy, and each run is repeated with the same seed value for
+     * d = 0 (every Server is inspected) and for several numbers of sampled Servers d.
+     * For each d, the statistics of the simulation and the time taken are printed out.
+     * Takes optional arguments: the number of Servers, the number of Customers, and the
+     * number of repetitions per d.
+     */
+    public static void main(String[] args) {
+        int numberOfCounters = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int numberOfCustomers = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+        int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int[] choices = {0, 1, 2, 3, 5};
+
+        Manager.setTraceStream(null);
+
+        for (int numberOfChoices : choices) {
+            long bestNanos = Long.MAX_VALUE;
+            String statistics = "";
+            Manager manager = new Manager(1, 0, numberOfCounters, 5, numberOfCustomers,
+                    0.9 * numberOfCounters, 1.0, 1.0, 0.0, 1.0);
+            manager.setNumberOfChoices(numberOfChoices);
+            manager.initializeServers();
+            for (int i = 0; i < repetitions; i++) {
+                long start = System.nanoTime();
+                manager.reset(1);
+                manager.initializeCustomers();
+                manager.initializeEvents();
+                manager.evaluateAllEvents();
+                bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+                statistics = manager.toString();
+            }
+            System.out.println("d=" + numberOfChoices + " " + statistics + " "
+                    + String.format("%.1f", bestNanos / (double) numberOfCustomers)
+                    + " ns/customer");
+        }
+    }
+}
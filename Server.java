@@ -1,7 +1,8 @@
 package cs2030.simulator;
 
 import java.util.Queue;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Map;
 
 /**
  * Represents a Server that modifies Events. 
@@ -35,6 +36,12 @@ class Server {
      * Is the Customer Queue of this Server. Populated by Events that represent Customers.
      */
     private Queue<Event> customerQueue;
+
+    /**
+     * Represents the distribution of service times of this Server. If it is null, service times
+     * are generated by the RandomGenerator instead.
+     */
+    private ServiceTimeDistribution serviceDistribution;
     
     /**
      * Represents the total number of Customers arrived across all Servers.
@@ -51,6 +58,16 @@ class Server {
      */
     static double totalTimeWaited;
 
+    /**
+     * Resets the statistics accumulated across all Servers, so that a new simulation does not
+     * include the Customers of a previous one.
+     */
+    static void resetStatistics() {
+        Server.numberOfCustomers = 0;
+        Server.numberOfCustomersServed = 0;
+        Server.totalTimeWaited = 0;
+    }
+
     /**
      * Creates a Server object.
      * @param serverID the unique ID of this Server object.
@@ -61,7 +78,44 @@ class Server {
         this.serverID = serverID;
         this.nextAvailable = nextAvailable;
         this.maxQueueLength = maxQueueLength;
-        this.customerQueue = new LinkedList<Event>();
+        this.customerQueue = new ArrayDeque<Event>();
+    }
+
+    /**
+     * Resets this Server to its initial state, so that it can be reused in a new simulation.
+     * The Customer queue is cleared but keeps its capacity.
+     */
+    void reset() {
+        this.nextAvailable = 0;
+        this.isServingCustomer = false;
+        this.customerQueue.clear();
+    }
+
+    /**
+     * Copies this Server. Events in the Customer queue are replaced by their copies, so that the
+     * copy can evaluate Events without affecting this Server.
+     * @param eventCopies maps each Event to its copy. Events without a copy are copied and added.
+     * @return returns a copy of this Server.
+     */
+    Server copy(Map<Event, Event> eventCopies) {
+        Server copy = newServer(serverID, nextAvailable, maxQueueLength);
+        copy.isServingCustomer = this.isServingCustomer;
+        copy.serviceDistribution = this.serviceDistribution;
+        for (Event event : customerQueue) {
+            copy.customerQueue.offer(eventCopies.computeIfAbsent(event, Event::copy));
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a Server object of the same type as this Server.
+     * @param serverID the unique ID of the new Server object.
+     * @param nextAvailable the next available serving time for the new Server object.
+     * @param maxQueueLength the maximum allowed Customer queue length.
+     * @return returns the new Server object.
+     */
+    Server newServer(int serverID, double nextAvailable, int maxQueueLength) {
+        return new Server(serverID, nextAvailable, maxQueueLength);
     }
 
     int getID() {
@@ -87,6 +141,15 @@ class Server {
         }
     }
 
+    /**
+     * Sets the distribution of service times of this Server.
+     * @param serviceDistribution the distribution to sample service times from, or null to
+     *     generate them with the RandomGenerator.
+     */
+    void setServiceDistribution(ServiceTimeDistribution serviceDistribution) {
+        this.serviceDistribution = serviceDistribution;
+    }
+
     boolean isServingCustomer() {
         return isServingCustomer;
     }
@@ -98,6 +161,29 @@ class Server {
     int lengthOfQueue() {
         return customerQueue.size();
     }
+
+    /**
+     * Calculates the expected service time of this Server, which is the mean of its distribution
+     * of service times if it has one.
+     * @return returns the expected service time.
+     */
+    double getExpectedServiceTime() {
+        if (serviceDistribution == null) {
+            return 1 / Manager.randGen.getServiceRate();
+        }
+        return serviceDistribution.getMean();
+    }
+
+    /**
+     * Predicts the time at which the last Customer in the queue of this Server will be served.
+     * This Server is next available when its current service ends, and each Customer ahead in
+     * the queue is then expected to take the expected service time.
+     * @return returns the predicted time at which the last Customer in the queue is served.
+     */
+    double predictServiceStart() {
+        int customersAhead = Math.max(customerQueue.size() - 1, 0);
+        return nextAvailable + customersAhead * getExpectedServiceTime();
+    }
     
     /**
      * Evaluates an Event if their State is Arrives. The new State of the Event will be one of
@@ -125,12 +211,17 @@ class Server {
     /**
      * Evaluates an Event if their State is Served. The new State of the Event will be Done.
      * It will take a randomly-generated amount of time to finish serving this Customer, so
-     * the next available time of this Server is incremented.
+     * the next available time of this Server is incremented. The time is sampled from the
+     * distribution of service times of this Server, if it has one.
      * @param event the Event to be evaluated.
      * @return returns the evaluated and modified Event.
      */
     Event customerServed(Event event) {
-        event.addTime(Manager.randGen.genServiceTime());
+        if (serviceDistribution == null) {
+            event.addTime(Manager.randGen.genServiceTime());
+        } else {
+            event.addTime(serviceDistribution.sample(Manager.serviceStream));
+        }
         event.setState("done");
 
         this.setTime(event.getTime());
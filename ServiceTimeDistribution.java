@@ -0,0 +1,25 @@
+package cs2030.simulator;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Represents the distribution of service times of a Server. A Server with a
+ * ServiceTimeDistribution samples its service times from it, instead of from the exponential
+ * distribution of the RandomGenerator.
+ */
+public interface ServiceTimeDistribution {
+
+    /**
+     * Samples a service time.
+     * @param uniform a source of random doubles, uniformly distributed between 0 (inclusive)
+     *     and 1 (exclusive).
+     * @return returns a non-negative service time.
+     */
+    double sample(DoubleSupplier uniform);
+
+    /**
+     * Calculates the mean service time, used to predict how long Customers will wait.
+     * @return returns the mean service time.
+     */
+    double getMean();
+}
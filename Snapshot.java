@@ -0,0 +1,241 @@
+package cs2030.simulator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Represents the state of a simulation at a point in simulated time. A Snapshot contains copies
+ * of the Event, Server, Customer, and RandomGenerator objects and of the simulation statistics,
+ * so that the simulation can continue from this point any number of times. Customer objects are
+ * copied because they are reused once a simulation is reset or a live Customer has left.
+ */
+public class Snapshot {
+
+    /**
+     * Represents the simulated time at which this Snapshot was taken.
+     */
+    private double time;
+
+    /**
+     * Contains copies of the Events in the PriorityQueue, in the order in which they are stored.
+     */
+    private Event[] eventArray;
+
+    /**
+     * Contains copies of the Server objects.
+     */
+    private Server[] serverArray;
+
+    /**
+     * Contains copies of the Customer objects.
+     */
+    private Customer[] customerArray;
+
+    /**
+     * Represents whether each Customer object is still in the simulation.
+     */
+    private boolean[] isInSystem;
+
+    /**
+     * A copy of the RandomGenerator that generates numbers.
+     */
+    private SeededRandomGenerator randGen;
+
+    /**
+     * A copy of the RandomStream that SamplingCustomers sample Servers with.
+     */
+    private RandomStream choiceStream;
+
+    /**
+     * A copy of the RandomStream that service times are sampled from.
+     */
+    private RandomStream serviceStream;
+
+    /**
+     * Represents the number of Servers sampled by each SamplingCustomer.
+     */
+    private int numberOfChoices;
+
+    /**
+     * Represents the number of HumanServer objects.
+     */
+    private int numberOfServers;
+
+    /**
+     * Represents the number of normal Server objects.
+     */
+    private int numberOfCounters;
+
+    /**
+     * Represents the maximum allowed queue length per Server.
+     */
+    private int maxQueueLength;
+
+    /**
+     * Represents the probability that a HumanServer will rest after serving.
+     */
+    private double probabilityOfResting;
+
+    /**
+     * Represents the total number of Customers arrived across all Servers.
+     */
+    private int numberOfCustomers;
+
+    /**
+     * Represents the total number of Customers served across all Servers.
+     */
+    private int numberOfCustomersServed;
+
+    /**
+     * Represents the total amount of time waited by all Customers across all Servers.
+     */
+    private double totalTimeWaited;
+
+    /**
+     * Constructs a Snapshot object. Events, Servers and Customers are copied, so that the
+     * simulation they belong to can continue without affecting this Snapshot.
+     * @param time the simulated time at which this Snapshot is taken.
+     * @param eventArray the Events in the PriorityQueue.
+     * @param serverArray the Server objects.
+     * @param customerArray the Customer objects.
+     * @param isInSystem whether each Customer object is still in the simulation.
+     * @param randGen the RandomGenerator that generates numbers.
+     * @param choiceStream the RandomStream that SamplingCustomers sample Servers with.
+     * @param serviceStream the RandomStream that service times are sampled from.
+     * @param numberOfServers the number of HumanServer objects.
+     * @param numberOfCounters the number of normal Server objects.
+     */
+    Snapshot(double time, Event[] eventArray, Server[] serverArray, Customer[] customerArray,
+            boolean[] isInSystem, SeededRandomGenerator randGen, RandomStream choiceStream,
+            RandomStream serviceStream, int numberOfServers, int numberOfCounters) {
+        Map<Event, Event> eventCopies = new IdentityHashMap<Event, Event>();
+        this.time = time;
+        this.eventArray = copyEvents(eventArray, eventCopies);
+        this.serverArray = copyServers(serverArray, eventCopies);
+        this.customerArray = copyCustomers(customerArray);
+        this.isInSystem = isInSystem.clone();
+        this.randGen = randGen.copy();
+        this.choiceStream = choiceStream.copy();
+        this.serviceStream = serviceStream.copy();
+        this.numberOfChoices = Manager.numberOfChoices;
+        this.numberOfServers = numberOfServers;
+        this.numberOfCounters = numberOfCounters;
+        this.maxQueueLength = Manager.maxQueueLength;
+        this.probabilityOfResting = Manager.probabilityOfResting;
+        this.numberOfCustomers = Server.numberOfCustomers;
+        this.numberOfCustomersServed = Server.numberOfCustomersServed;
+        this.totalTimeWaited = Server.totalTimeWaited;
+    }
+
+    /**
+     * Copies an array of Events. An Event that is both in the PriorityQueue and in a Customer
+     * queue is copied only once, so the copies are shared in the same way as the originals.
+     * @param events the Events to be copied.
+     * @param eventCopies maps each Event to its copy. Events without a copy are copied and added.
+     * @return returns an array containing the copied Events, in the same order.
+     */
+    static Event[] copyEvents(Event[] events, Map<Event, Event> eventCopies) {
+        Event[] copies = new Event[events.length];
+        for (int i = 0; i < events.length; i++) {
+            copies[i] = eventCopies.computeIfAbsent(events[i], Event::copy);
+        }
+        return copies;
+    }
+
+    /**
+     * Copies an array of Servers, together with the Events in their Customer queues.
+     * @param servers the Servers to be copied.
+     * @param eventCopies maps each Event to its copy. Events without a copy are copied and added.
+     * @return returns an array containing the copied Servers, in the same order.
+     */
+    static Server[] copyServers(Server[] servers, Map<Event, Event> eventCopies) {
+        Server[] copies = new Server[servers.length];
+        for (int i = 0; i < servers.length; i++) {
+            copies[i] = servers[i].copy(eventCopies);
+        }
+        return copies;
+    }
+
+    /**
+     * Copies an array of Customers. Places without a Customer are left empty.
+     * @param customers the Customers to be copied.
+     * @return returns an array containing the copied Customers, in the same order.
+     */
+    static Customer[] copyCustomers(Customer[] customers) {
+        Customer[] copies = new Customer[customers.length];
+        for (int i = 0; i < customers.length; i++) {
+            if (customers[i] != null) {
+                copies[i] = customers[i].copy();
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Gets the simulated time at which this Snapshot was taken.
+     * @return the simulated time of this Snapshot.
+     */
+    public double getTime() {
+        return this.time;
+    }
+
+    Event[] getEvents(Map<Event, Event> eventCopies) {
+        return copyEvents(eventArray, eventCopies);
+    }
+
+    Server[] getServers(Map<Event, Event> eventCopies) {
+        return copyServers(serverArray, eventCopies);
+    }
+
+    Customer[] getCustomers() {
+        return copyCustomers(customerArray);
+    }
+
+    boolean[] getIsInSystem() {
+        return isInSystem.clone();
+    }
+
+    SeededRandomGenerator getRandGen() {
+        return randGen.copy();
+    }
+
+    RandomStream getChoiceStream() {
+        return choiceStream.copy();
+    }
+
+    RandomStream getServiceStream() {
+        return serviceStream.copy();
+    }
+
+    int getNumberOfChoices() {
+        return this.numberOfChoices;
+    }
+
+    int getNumberOfServers() {
+        return this.numberOfServers;
+    }
+
+    int getNumberOfCounters() {
+        return this.numberOfCounters;
+    }
+
+    int getMaxQueueLength() {
+        return this.maxQueueLength;
+    }
+
+    double getProbabilityOfResting() {
+        return this.probabilityOfResting;
+    }
+
+    int getNumberOfCustomers() {
+        return this.numberOfCustomers;
+    }
+
+    int getNumberOfCustomersServed() {
+        return this.numberOfCustomersServed;
+    }
+
+    double getTotalTimeWaited() {
+        return this.totalTimeWaited;
+    }
+}
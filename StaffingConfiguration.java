@@ -0,0 +1,123 @@
+package cs2030.simulator;
+
+/**
+ * Represents one staffing configuration considered by a StaffingOptimizer. Contains the number
+ * of HumanServers, the number of normal Servers, and the maximum queue length per Server, as well
+ * as the waiting times observed over the replications simulated for this configuration.
+ */
+public class StaffingConfiguration {
+
+    /**
+     * Represents the number of HumanServer objects.
+     */
+    private int numberOfServers;
+
+    /**
+     * Represents the number of normal Server objects.
+     */
+    private int numberOfCounters;
+
+    /**
+     * Represents the maximum allowed queue length per Server.
+     */
+    private int maxQueueLength;
+
+    /**
+     * Represents the number of replications simulated for this configuration.
+     */
+    private int numberOfReplications;
+
+    /**
+     * Represents the sum of the average waiting times over all replications.
+     */
+    private double sumOfWaitingTimes;
+
+    /**
+     * Represents the sum of the squared average waiting times over all replications.
+     */
+    private double sumOfSquaredWaitingTimes;
+
+    /**
+     * Constructs a StaffingConfiguration object.
+     * @param numberOfServers the number of HumanServers.
+     * @param numberOfCounters the number of normal Servers.
+     * @param maxQueueLength the maximum allowed queue length per Server.
+     */
+    public StaffingConfiguration(int numberOfServers, int numberOfCounters, int maxQueueLength) {
+        this.numberOfServers = numberOfServers;
+        this.numberOfCounters = numberOfCounters;
+        this.maxQueueLength = maxQueueLength;
+    }
+
+    public int getNumberOfServers() {
+        return this.numberOfServers;
+    }
+
+    public int getNumberOfCounters() {
+        return this.numberOfCounters;
+    }
+
+    public int getMaxQueueLength() {
+        return this.maxQueueLength;
+    }
+
+    public int getNumberOfReplications() {
+        return this.numberOfReplications;
+    }
+
+    /**
+     * Calculates the mean of the average waiting times over all replications.
+     * @return the mean waiting time, or 0 if no replications have been simulated.
+     */
+    public double getMeanWaitingTime() {
+        return numberOfReplications == 0 ? 0 : sumOfWaitingTimes / numberOfReplications;
+    }
+
+    /**
+     * Calculates the sample variance of the average waiting times over all replications.
+     * @return the sample variance, or 0 if fewer than two replications have been simulated.
+     */
+    double getVarianceOfWaitingTime() {
+        if (numberOfReplications < 2) {
+            return 0;
+        }
+        double mean = getMeanWaitingTime();
+        double variance = (sumOfSquaredWaitingTimes - numberOfReplications * mean * mean)
+                / (numberOfReplications - 1);
+        return Math.max(variance, 0);
+    }
+
+    /**
+     * Checks whether this configuration has at least as many HumanServers and normal Servers as
+     * another configuration, and no longer a maximum queue length. Customers of this
+     * configuration are expected to wait no longer than those of the other configuration.
+     * @param other the configuration to compare to.
+     * @return returns true if this configuration is at least as well staffed as the other.
+     */
+    boolean isStaffedAtLeastAs(StaffingConfiguration other) {
+        return this.numberOfServers >= other.numberOfServers
+                && this.numberOfCounters >= other.numberOfCounters
+                && this.maxQueueLength <= other.maxQueueLength;
+    }
+
+    /**
+     * Records the average waiting time of one replication of this configuration.
+     * @param waitingTime the average waiting time of the replication.
+     */
+    void addReplication(double waitingTime) {
+        numberOfReplications++;
+        sumOfWaitingTimes += waitingTime;
+        sumOfSquaredWaitingTimes += waitingTime * waitingTime;
+    }
+
+    /**
+     * Prints the details of this configuration.
+     * @return a String containing the configuration and its mean waiting time.
+     */
+    @Override
+    public String toString() {
+        return ("[" + numberOfServers + " " + numberOfCounters + " " + maxQueueLength + "] "
+                + String.format("%.3f", getMeanWaitingTime()) + " over " + numberOfReplications
+                + " replications");
+    }
+}
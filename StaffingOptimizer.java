@@ -0,0 +1,293 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Selects the cheapest StaffingConfiguration whose mean waiting time meets a target.
+ * Configurations are considered in order of cost. Each one is simulated in stages, doubling the
+ * number of replications per stage, until a confidence interval for its mean waiting time lies
+ * entirely below the target (it is feasible) or entirely above it (it is infeasible).
+ * An infeasible configuration also rules out every configuration that is staffed no better than
+ * it, without simulating them. The first feasible configuration is returned.
+ * Replication i of every configuration uses the seed value seedValue + i, so that configurations
+ * are compared under the same Customer arrivals.
+ * Each interval uses the Student t distribution with one fewer degree of freedom than its number
+ * of replications, and its confidence level is corrected for the number of configurations and
+ * stages, so that with probability at least the given confidence level, every feasibility
+ * decision is correct. A configuration that is still undecided after the last stage is skipped
+ * and reported by getUndecidedConfigurations. The returned configuration is the cheapest one that
+ * meets the target only if no cheaper configuration is reported as undecided.
+ */
+public class StaffingOptimizer {
+
+    /**
+     * Represents the number of replications simulated in the first stage for each configuration.
+     */
+    static final int INITIAL_REPLICATIONS = 10;
+
+    /**
+     * Represents the maximum number of stages simulated for each configuration. A configuration
+     * that is still undecided after the last stage is not selected.
+     */
+    static final int MAX_STAGES = 5;
+
+    /**
+     * Contains the configurations that were still undecided after the last stage during the most
+     * recent optimization, and were not ruled out by an infeasible configuration.
+     */
+    private List<StaffingConfiguration> undecidedConfigurations =
+            new ArrayList<StaffingConfiguration>();
+
+    /**
+     * Represents the number of Customer objects to create per replication.
+     */
+    private int numberOfCustomers;
+
+    /**
+     * Represents the arrival rate of Customers.
+     */
+    private double arrivalRate;
+
+    /**
+     * Represents the service rate of Servers.
+     */
+    private double serviceRate;
+
+    /**
+     * Represents the resting rate of HumanServers.
+     */
+    private double restingRate;
+
+    /**
+     * Represents the probability that a HumanServer will rest after serving.
+     */
+    private double probabilityOfResting;
+
+    /**
+     * Represents the probability that a new Customer object will be a GreedyCustomer.
+     */
+    private double probabilityOfGreedy;
+
+    /**
+     * Represents the cost of one HumanServer.
+     */
+    private double serverCost;
+
+    /**
+     * Represents the cost of one normal Server.
+     */
+    private double counterCost;
+
+    /**
+     * Constructs a StaffingOptimizer object.
+     * @param numberOfCustomers sets the number of Customers to create per replication.
+     * @param arrivalRate is the arrival rate of Customers.
+     * @param serviceRate is the service rate of Servers.
+     * @param restingRate is the resting rate of HumanServers.
+     * @param probabilityOfResting is the probability of resting for HumanServers.
+     * @param probabilityOfGreedy is the probability of a GreedyCustomer arriving.
+     * @param serverCost is the cost of one HumanServer.
+     * @param counterCost is the cost of one normal Server.
+     */
+    public StaffingOptimizer(int numberOfCustomers, double arrivalRate, double serviceRate,
+            double restingRate, double probabilityOfResting, double probabilityOfGreedy,
+            double serverCost, double counterCost) {
+        this.numberOfCustomers = numberOfCustomers;
+        this.arrivalRate = arrivalRate;
+        this.serviceRate = serviceRate;
+        this.restingRate = restingRate;
+        this.probabilityOfResting = probabilityOfResting;
+        this.probabilityOfGreedy = probabilityOfGreedy;
+        this.serverCost = serverCost;
+        this.counterCost = counterCost;
+    }
+
+    /**
+     * Calculates the cost of a configuration.
+     * @param configuration the configuration to be costed.
+     * @return the total cost of its HumanServers and normal Servers.
+     */
+    double getCost(StaffingConfiguration configuration) {
+        return configuration.getNumberOfServers() * serverCost
+                + configuration.getNumberOfCounters() * counterCost;
+    }
+
+    /**
+     * Returns the configurations that were still undecided after the last stage during the most
+     * recent optimization. Any of them that is cheaper than the selected configuration may also
+     * meet the target.
+     * @return returns the undecided configurations, in order of cost.
+     */
+    public List<StaffingConfiguration> getUndecidedConfigurations() {
+        return new ArrayList<StaffingConfiguration>(undecidedConfigurations);
+    }
+
+    /**
+     * Selects the cheapest configuration whose mean waiting time is known to be at most the
+     * target. Configurations that remain undecided are skipped, and can be retrieved afterwards
+     * with getUndecidedConfigurations. No Events are printed while the configurations are
+     * simulated.
+     * @param candidates the configurations to choose from.
+     * @param targetWaitingTime the highest acceptable mean waiting time.
+     * @param confidenceLevel the probability with which the selection must be correct.
+     * @param seedValue the seed value of the first replication.
+     * @return returns the selected configuration, or null if no configuration meets the target.
+     */
+    public StaffingConfiguration optimize(List<StaffingConfiguration> candidates,
+            double targetWaitingTime, double confidenceLevel, int seedValue) {
+        List<StaffingConfiguration> remaining = new ArrayList<StaffingConfiguration>(candidates);
+        remaining.sort(Comparator.comparingDouble(this::getCost));
+
+        undecidedConfigurations.clear();
+        double errorPerInterval = (1 - confidenceLevel) / (candidates.size() * MAX_STAGES);
+
+        PrintStream previousTraceStream = Manager.traceStream;
+        Manager.setTraceStream(null);
+
+        StaffingConfiguration selected = null;
+        try {
+            while (!remaining.isEmpty() && selected == null) {
+                StaffingConfiguration configuration = remaining.remove(0);
+                int decision = decideFeasibility(configuration, targetWaitingTime,
+                        errorPerInterval, seedValue);
+                if (decision < 0) {
+                    selected = configuration;
+                } else if (decision > 0) {
+                    remaining.removeIf(other -> configuration.isStaffedAtLeastAs(other));
+                    undecidedConfigurations.removeIf(other ->
+                            configuration.isStaffedAtLeastAs(other));
+                } else {
+                    undecidedConfigurations.add(configuration);
+                }
+            }
+        } finally {
+            Manager.setTraceStream(previousTraceStream);
+        }
+
+        return selected;
+    }
+
+    /**
+     * Simulates replications of a configuration in stages until its mean waiting time is known
+     * to be below or above the target, or until the last stage has been simulated.
+     * One Manager is created for the configuration and reset between replications.
+     * @param configuration the configuration to be simulated.
+     * @param targetWaitingTime the highest acceptable mean waiting time.
+     * @param errorPerInterval the probability that each confidence interval does not contain
+     *     the mean waiting time.
+     * @param seedValue the seed value of the first replication.
+     * @return returns -1 if the configuration is feasible, 1 if it is infeasible, and 0 if
+     *     it is still undecided.
+     */
+    int decideFeasibility(StaffingConfiguration configuration, double targetWaitingTime,
+            double errorPerInterval, int seedValue) {
+        Manager manager = new Manager(seedValue, configuration.getNumberOfServers(),
+                configuration.getNumberOfCounters(), configuration.getMaxQueueLength(),
+                numberOfCustomers, arrivalRate, serviceRate, restingRate, probabilityOfResting,
+                probabilityOfGreedy);
+        manager.initializeServers();
+
+        int replications = INITIAL_REPLICATIONS;
+        for (int stage = 0; stage < MAX_STAGES; stage++) {
+            while (configuration.getNumberOfReplications() < replications) {
+                configuration.addReplication(simulate(manager,
+                        seedValue + configuration.getNumberOfReplications()));
+            }
+
+            int n = configuration.getNumberOfReplications();
+            double criticalValue = inverseStudentT(1 - errorPerInterval / 2, n - 1);
+            double halfWidth = criticalValue * Math.sqrt(configuration.getVarianceOfWaitingTime()
+                    / n);
+            double mean = configuration.getMeanWaitingTime();
+            if (mean + halfWidth <= targetWaitingTime) {
+                return -1;
+            } else if (mean - halfWidth > targetWaitingTime) {
+                return 1;
+            }
+            replications *= 2;
+        }
+        return 0;
+    }
+
+    /**
+     * Simulates one replication of a configuration.
+     * @param manager the Manager of the configuration, whose Servers are initialized.
+     * @param seedValue the seed value of the replication.
+     * @return returns the average waiting time of the Customers served.
+     */
+    double simulate(Manager manager, int seedValue) {
+        manager.reset(seedValue);
+        manager.initializeCustomers();
+        manager.initializeEvents();
+        manager.evaluateAllEvents();
+        return manager.getAverageWaitingTime();
+    }
+
+    /**
+     * Calculates the inverse of the Student t cumulative distribution function by bisection.
+     * @param probability a probability strictly between 0 and 1.
+     * @param degreesOfFreedom the number of degrees of freedom, at least 1.
+     * @return returns the value below which a Student t variable falls with the given
+     *     probability.
+     */
+    static double inverseStudentT(double probability, int degreesOfFreedom) {
+        if (probability < 0.5) {
+            return -inverseStudentT(1 - probability, degreesOfFreedom);
+        }
+        double twoSidedProbability = 2 * probability - 1;
+        double lower = 0;
+        double upper = 1;
+        while (probabilityWithinStudentT(upper, degreesOfFreedom) < twoSidedProbability) {
+            lower = upper;
+            upper *= 2;
+        }
+        for (int i = 0; i < 100 && upper - lower > 1e-12 * upper; i++) {
+            double middle = (lower + upper) / 2;
+            if (probabilityWithinStudentT(middle, degreesOfFreedom) < twoSidedProbability) {
+                lower = middle;
+            } else {
+                upper = middle;
+            }
+        }
+        return (lower + upper) / 2;
+    }
+
+    /**
+     * Calculates the probability that a Student t variable lies between -t and t, using the
+     * finite series for an integer number of degrees of freedom given by Abramowitz and Stegun
+     * (26.7.3 and 26.7.4).
+     * @param t a non-negative value.
+     * @param degreesOfFreedom the number of degrees of freedom, at least 1.
+     * @return returns the probability that the absolute value of the variable is at most t.
+     */
+    static double probabilityWithinStudentT(double t, int degreesOfFreedom) {
+        double theta = Math.atan(t / Math.sqrt(degreesOfFreedom));
+        double cosSquared = Math.cos(theta) * Math.cos(theta);
+        double sum;
+        double term;
+        int k;
+        if (degreesOfFreedom % 2 == 0) {
+            term = 1;
+            sum = 1;
+            k = 2;
+        } else {
+            if (degreesOfFreedom == 1) {
+                return 2 * theta / Math.PI;
+            }
+            term = Math.cos(theta);
+            sum = term;
+            k = 3;
+        }
+        for (; k < degreesOfFreedom; k += 2) {
+            term *= cosSquared * (k - 1) / k;
+            sum += term;
+        }
+        if (degreesOfFreedom % 2 == 0) {
+            return Math.sin(theta) * sum;
+        }
+        return 2 * (theta + Math.sin(theta) * sum) / Math.PI;
+    }
+}
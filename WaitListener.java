@@ -0,0 +1,16 @@
+package cs2030.simulator;
+
+/**
+ * Receives the waiting time predicted for each Customer, as soon as the Customer is assigned to
+ * a Server.
+ */
+public interface WaitListener {
+
+    /**
+     * Called when the waiting time of a Customer has been predicted.
+     * @param customerID the ID of the Customer.
+     * @param arrivalTime the time of arrival of the Customer.
+     * @param predictedWait the time the Customer is predicted to wait before being served.
+     */
+    void waitPredicted(int customerID, double arrivalTime, double predictedWait);
+}
@@ -0,0 +1,41 @@
+#!/bin/bash
+# Checks that Main prints the same trace and statistics as an earlier revision, on randomly
+# generated inputs. Both revisions are compiled against the stand-in RandomGenerator in
+# verification/stub, as the real one is not part of this repository.
+#
+# Usage: verification/check-trace.sh [revision] [number of inputs]
+#   revision          the revision to compare to, by default the first commit
+#   number of inputs  the number of inputs to compare on, by default 200
+
+set -e
+cd "$(dirname "$0")/.."
+
+revision=${1:-$(git rev-list --max-parents=0 HEAD)}
+count=${2:-200}
+stub=verification/stub/cs2030/simulator/RandomGenerator.java
+
+work=$(mktemp -d)
+trap 'rm -rf "$work"' EXIT
+mkdir -p "$work/expected-src" "$work/expected" "$work/actual"
+
+git archive "$revision" | tar -x -C "$work/expected-src"
+javac -nowarn -d "$work/expected" "$stub" "$work"/expected-src/*.java
+javac -nowarn -d "$work/actual" "$stub" ./*.java
+
+RANDOM=2030
+mismatches=0
+for i in $(seq 1 "$count"); do
+    input="$i $((RANDOM % 4)) $((RANDOM % 4 + 1)) $((RANDOM % 3 + 1)) $((RANDOM % 200 + 1))"
+    input="$input $((RANDOM % 2 + 1)).$((RANDOM % 10)) $((RANDOM % 2 + 1)).$((RANDOM % 10))"
+    input="$input 0.$((RANDOM % 9 + 1)) 0.$((RANDOM % 10)) 0.$((RANDOM % 10))"
+
+    echo "$input" | java -cp "$work/expected" Main > "$work/expected.txt" 2>&1
+    echo "$input" | java -cp "$work/actual" Main > "$work/actual.txt" 2>&1
+    if ! cmp -s "$work/expected.txt" "$work/actual.txt"; then
+        mismatches=$((mismatches + 1))
+        echo "mismatch: $input"
+    fi
+done
+
+echo "$mismatches mismatches in $count inputs"
+[ "$mismatches" -eq 0 ]
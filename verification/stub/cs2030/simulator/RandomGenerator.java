@@ -0,0 +1,91 @@
+package cs2030.simulator;
+
+import java.util.Random;
+
+/**
+ * Stands in for the seeded RandomGenerator that the simulator relies upon, which is not part of
+ * this repository, so that the simulator can be compiled and its traces compared. Like the real
+ * one, it keeps a separate sequence for each kind of value. The values differ from those of the
+ * real RandomGenerator, so only traces produced with this class can be compared to each other.
+ */
+public class RandomGenerator {
+
+    /**
+     * Generates the inter-arrival times of Customers.
+     */
+    private final Random arrivalRandom;
+
+    /**
+     * Generates the service times of Servers.
+     */
+    private final Random serviceRandom;
+
+    /**
+     * Generates the values deciding whether HumanServers rest.
+     */
+    private final Random restRandom;
+
+    /**
+     * Generates the rest periods of HumanServers.
+     */
+    private final Random restPeriodRandom;
+
+    /**
+     * Generates the values deciding the types of Customers.
+     */
+    private final Random customerTypeRandom;
+
+    /**
+     * Represents the arrival rate of Customers.
+     */
+    private final double arrivalRate;
+
+    /**
+     * Represents the service rate of Servers.
+     */
+    private final double serviceRate;
+
+    /**
+     * Represents the resting rate of HumanServers.
+     */
+    private final double restingRate;
+
+    /**
+     * Constructs a RandomGenerator object.
+     * @param seedValue is the seed value of the sequences.
+     * @param arrivalRate is the arrival rate of Customers.
+     * @param serviceRate is the service rate of Servers.
+     * @param restingRate is the resting rate of HumanServers.
+     */
+    public RandomGenerator(int seedValue, double arrivalRate, double serviceRate,
+            double restingRate) {
+        this.arrivalRandom = new Random(seedValue);
+        this.serviceRandom = new Random(seedValue + 1);
+        this.restRandom = new Random(seedValue + 2);
+        this.restPeriodRandom = new Random(seedValue + 3);
+        this.customerTypeRandom = new Random(seedValue + 4);
+        this.arrivalRate = arrivalRate;
+        this.serviceRate = serviceRate;
+        this.restingRate = restingRate;
+    }
+
+    public double genInterArrivalTime() {
+        return -Math.log(arrivalRandom.nextDouble()) / arrivalRate;
+    }
+
+    public double genServiceTime() {
+        return -Math.log(serviceRandom.nextDouble()) / serviceRate;
+    }
+
+    public double genRandomRest() {
+        return restRandom.nextDouble();
+    }
+
+    public double genRestPeriod() {
+        return -Math.log(restPeriodRandom.nextDouble()) / restingRate;
+    }
+
+    public double genCustomerType() {
+        return customerTypeRandom.nextDouble();
+    }
+}